@@ -0,0 +1,46 @@
+package com.putoet.benchmarks;
+
+import com.putoet.board.Minimax;
+import com.putoet.examples.board.c4.C4Board;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Alpha-beta search of Connect Four positions to growing depths, from the empty board and from a fixed
+// middle game position
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConnectFourBenchmark {
+    private static final int[] OPENING = {3, 3, 2, 4, 4, 2, 5, 1};
+
+    @Param({"3", "5", "7"})
+    public int depth;
+
+    @Param({"empty", "middle"})
+    public String position;
+
+    private C4Board board;
+
+    @Setup
+    public void setup() {
+        board = new C4Board();
+        if ("middle".equals(position)) {
+            for (int column : OPENING)
+                board = board.move(column);
+        }
+    }
+
+    @Benchmark
+    public double alphabeta() {
+        return Minimax.alphabeta(board, true, board.getTurn(), depth);
+    }
+
+    @Benchmark
+    public Integer findBestMove() {
+        return Minimax.findBestMove(board, depth);
+    }
+}
@@ -0,0 +1,53 @@
+package com.putoet.benchmarks;
+
+import com.putoet.graph.WeightedGraph;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Single source shortest paths on seeded random graphs, a spanning chain keeps every graph connected and the
+// degree adds random edges on top of it
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DijkstraBenchmark {
+    @Param({"1000", "10000"})
+    public int vertices;
+
+    // sparse graphs have about 4 edges per vertex, dense graphs about 64
+    @Param({"4", "64"})
+    public int degree;
+
+    private WeightedGraph<Integer> graph;
+
+    @Setup
+    public void setup() {
+        final List<Integer> names = new ArrayList<>(vertices);
+        for (int vertex = 0; vertex < vertices; vertex++)
+            names.add(vertex);
+
+        graph = new WeightedGraph<>(names);
+        final SplittableRandom random = new SplittableRandom(42L);
+        for (int vertex = 1; vertex < vertices; vertex++)
+            graph.addEdge(random.nextInt(vertex), vertex, 1.0 + random.nextInt(100));
+
+        final long extra = (long) vertices * degree / 2 - (vertices - 1);
+        for (long edge = 0; edge < extra; edge++) {
+            final int u = random.nextInt(vertices);
+            final int v = random.nextInt(vertices);
+            if (u != v)
+                graph.addEdge(u, v, 1.0 + random.nextInt(100));
+        }
+    }
+
+    @Benchmark
+    public WeightedGraph.DijkstraResult dijkstra() {
+        return graph.dijkstra(0);
+    }
+}
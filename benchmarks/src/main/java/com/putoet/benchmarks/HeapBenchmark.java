@@ -0,0 +1,82 @@
+package com.putoet.benchmarks;
+
+import com.putoet.heap.DaryHeap;
+import com.putoet.heap.FibonacciHeap;
+import com.putoet.heap.Heap;
+import com.putoet.heap.MinHeapSet;
+import com.putoet.heap.PairingHeap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Operation mixes on a heap of distinct elements. Every invocation fills a fresh heap, then either drains it
+// (insertTop) or lowers the key of every element before draining it (decreaseKey), which is what Dijkstra and A*
+// do to a priority queue.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HeapBenchmark {
+    @Param({"1000", "10000"})
+    public int size;
+
+    @Param({"insertTop", "decreaseKey"})
+    public String mix;
+
+    private int[] keys;
+    private int[] lowered;
+
+    @Setup
+    public void setup() {
+        final SplittableRandom random = new SplittableRandom(42L);
+        keys = new int[size];
+        lowered = new int[size];
+        for (int idx = 0; idx < size; idx++) {
+            keys[idx] = random.nextInt(1_000_000);
+            lowered[idx] = keys[idx] - random.nextInt(1_000);
+        }
+    }
+
+    @Benchmark
+    public long minHeapSet() {
+        return run(new MinHeapSet<>());
+    }
+
+    @Benchmark
+    public long daryHeap4() {
+        return run(new DaryHeap<>(4));
+    }
+
+    @Benchmark
+    public long daryHeap8() {
+        return run(new DaryHeap<>(8));
+    }
+
+    @Benchmark
+    public long pairingHeap() {
+        return run(new PairingHeap<>());
+    }
+
+    @Benchmark
+    public long fibonacciHeap() {
+        return run(new FibonacciHeap<>());
+    }
+
+    private long run(Heap<Integer, Integer> heap) {
+        for (int idx = 0; idx < size; idx++)
+            heap.insert(keys[idx], idx);
+
+        if ("decreaseKey".equals(mix)) {
+            for (int idx = 0; idx < size; idx++)
+                heap.update(idx, lowered[idx]);
+        }
+
+        long sum = 0;
+        while (!heap.isEmpty())
+            sum += heap.top();
+        return sum;
+    }
+}
@@ -0,0 +1,63 @@
+package com.putoet.benchmarks;
+
+import com.putoet.heap.DaryHeap;
+import com.putoet.heap.Heap;
+import com.putoet.heap.MinHeapSet;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Rebuilding a heap from scratch and taking the k lowest entries, loading the entries one by one compared to
+// the bulk constructors that heapify bottom up
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HeapBuildBenchmark {
+    @Param({"10000", "1000000"})
+    public int size;
+
+    @Param({"100"})
+    public int k;
+
+    private List<Heap.Entry<Integer, Integer>> entries;
+
+    @Setup
+    public void setup() {
+        final SplittableRandom random = new SplittableRandom(42L);
+        entries = new ArrayList<>(size);
+        for (int element = 0; element < size; element++)
+            entries.add(new Heap.Entry<>(random.nextInt(), element));
+    }
+
+    @Benchmark
+    public List<Integer> minHeapSetInsert() {
+        final MinHeapSet<Integer, Integer> heap = new MinHeapSet<>();
+        for (Heap.Entry<Integer, Integer> entry : entries)
+            heap.insert(entry.key(), entry.element());
+        return heap.topK(k);
+    }
+
+    @Benchmark
+    public List<Integer> minHeapSetBulk() {
+        return new MinHeapSet<>(entries).topK(k);
+    }
+
+    @Benchmark
+    public List<Integer> daryHeapInsert() {
+        final DaryHeap<Integer, Integer> heap = new DaryHeap<>();
+        for (Heap.Entry<Integer, Integer> entry : entries)
+            heap.insert(entry.key(), entry.element());
+        return heap.topK(k);
+    }
+
+    @Benchmark
+    public List<Integer> daryHeapBulk() {
+        return new DaryHeap<>(entries).topK(k);
+    }
+}
@@ -0,0 +1,86 @@
+package com.putoet.benchmarks;
+
+import com.putoet.graph.WeightedEdge;
+import com.putoet.graph.WeightedGraph;
+import com.putoet.heap.DaryHeap;
+import com.putoet.heap.FibonacciHeap;
+import com.putoet.heap.Heap;
+import com.putoet.heap.MinHeapSet;
+import com.putoet.heap.PairingHeap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Dijkstra with decrease key on dense seeded random graphs, comparing the Heap implementations. Dense graphs
+// relax far more edges than they extract vertices. DijkstraBenchmark covers WeightedGraph.dijkstra, which uses
+// the primitive IndexedDoubleHeap.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HeapDijkstraBenchmark {
+    @Param({"1000", "5000"})
+    public int vertices;
+
+    @Param({"64", "256"})
+    public int degree;
+
+    @Param({"minHeapSet", "daryHeap", "pairingHeap", "fibonacciHeap"})
+    public String heap;
+
+    private WeightedGraph<Integer> graph;
+
+    @Setup
+    public void setup() {
+        final List<Integer> names = new ArrayList<>(vertices);
+        for (int vertex = 0; vertex < vertices; vertex++)
+            names.add(vertex);
+
+        graph = new WeightedGraph<>(names);
+        final SplittableRandom random = new SplittableRandom(42L);
+        for (int vertex = 1; vertex < vertices; vertex++)
+            graph.addEdge(random.nextInt(vertex), vertex, 1.0 + random.nextInt(1000));
+
+        final long extra = (long) vertices * degree / 2 - (vertices - 1);
+        for (long edge = 0; edge < extra; edge++) {
+            final int u = random.nextInt(vertices);
+            final int v = random.nextInt(vertices);
+            if (u != v)
+                graph.addEdge(u, v, 1.0 + random.nextInt(1000));
+        }
+    }
+
+    @Benchmark
+    public double[] heap() {
+        final Heap<Double, Integer> pq = switch (heap) {
+            case "minHeapSet" -> new MinHeapSet<>();
+            case "daryHeap" -> new DaryHeap<>();
+            case "pairingHeap" -> new PairingHeap<>();
+            case "fibonacciHeap" -> new FibonacciHeap<>();
+            default -> throw new IllegalArgumentException("Unknown heap " + heap);
+        };
+
+        final double[] distances = new double[vertices];
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        distances[0] = 0;
+        pq.insert(0.0, 0);
+        while (!pq.isEmpty()) {
+            final int u = pq.top();
+            for (WeightedEdge edge : graph.edgesOf(u)) {
+                final double distance = distances[u] + edge.weight;
+                if (distance < distances[edge.v]) {
+                    if (!pq.update(edge.v, distance))
+                        pq.insert(distance, edge.v);
+                    distances[edge.v] = distance;
+                }
+            }
+        }
+        return distances;
+    }
+}
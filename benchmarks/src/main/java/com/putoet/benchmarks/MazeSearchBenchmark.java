@@ -0,0 +1,62 @@
+package com.putoet.benchmarks;
+
+import com.putoet.maze.JumpPointSearch;
+import com.putoet.maze.Maze;
+import com.putoet.maze.RandomMaze;
+import com.putoet.search.GenericSearch;
+import com.putoet.search.LongSearch;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// Shortest path searches from corner to corner on seeded, solvable random mazes of growing size
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MazeSearchBenchmark {
+    @Param({"100", "300", "1000"})
+    public int size;
+
+    @Param({"0.25"})
+    public double sparseness;
+
+    private RandomMaze maze;
+    private Maze.Location start, goal;
+    private LongSearch longSearch;
+
+    @Setup
+    public void setup() {
+        start = Maze.Location.of(0, 0);
+        goal = Maze.Location.of(size - 1, size - 1);
+        maze = RandomMaze.builder().rows(size).columns(size).start(start).goal(goal).sparseness(sparseness)
+                .seed(42L).solvable(true).build();
+        longSearch = new LongSearch();
+    }
+
+    @Benchmark
+    public Optional<GenericSearch.Node<Maze.Location>> bfs() {
+        return GenericSearch.bfs(start, maze::goalTest, maze::successors);
+    }
+
+    @Benchmark
+    public Optional<GenericSearch.Node<Maze.Location>> astar() {
+        return GenericSearch.astar(start, maze::goalTest, maze::successors, maze::manhattanDistance);
+    }
+
+    @Benchmark
+    public Optional<GenericSearch.Node<Maze.Location>> jumpPointSearch() {
+        return JumpPointSearch.find(maze, start, goal);
+    }
+
+    @Benchmark
+    public int longAstar() {
+        final int target = maze.index(goal);
+        final int columns = maze.columns();
+        return longSearch.astar(maze.index(start), state -> state == target, maze.indexSuccessors(),
+                state -> Math.abs(state / columns - goal.row()) + Math.abs(state % columns - goal.column()));
+    }
+}
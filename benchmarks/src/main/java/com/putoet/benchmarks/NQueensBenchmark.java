@@ -0,0 +1,37 @@
+package com.putoet.benchmarks;
+
+import com.putoet.csp.CSP;
+import com.putoet.examples.csp.QueensConstraint;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+// Backtracking search for the first solution of the N-Queens problem
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NQueensBenchmark {
+    @Param({"6", "8", "10"})
+    public int queens;
+
+    private CSP<Integer, Integer> csp;
+
+    @Setup
+    public void setup() {
+        final List<Integer> columns = IntStream.rangeClosed(1, queens).boxed().toList();
+        csp = new CSP<>(columns, columns);
+        csp.addConstraint(new QueensConstraint(columns));
+    }
+
+    @Benchmark
+    public Optional<Map<Integer, Integer>> backtrackingSearch() {
+        return csp.backtrackingSearch();
+    }
+}
@@ -16,8 +16,9 @@
 
 package com.putoet.graph;
 
+import com.putoet.heap.IndexedDoubleHeap;
+
 import java.util.*;
-import java.util.function.IntConsumer;
 
 public class WeightedGraph<V> extends AbstractGraph<V, WeightedEdge> {
 
@@ -80,26 +81,26 @@ public class WeightedGraph<V> extends AbstractGraph<V, WeightedEdge> {
         assert start >= 0 && start < vertexCount();
 
         final List<WeightedEdge> result = new LinkedList<>();
-        final PriorityQueue<WeightedEdge> pq = new PriorityQueue<>();
+        final IndexedDoubleHeap pq = new IndexedDoubleHeap(vertexCount());
+        final WeightedEdge[] cheapest = new WeightedEdge[vertexCount()];
         boolean[] visited = new boolean[vertexCount()];
 
-        final IntConsumer visit = index -> {
-            visited[index] = true;
-            for (WeightedEdge edge : edgesOf(index)) {
-                if (!visited[edge.v]) {
-                    pq.offer(edge);
-                }
+        pq.insert(start, 0);
+        while (!pq.isEmpty()) {
+            final int u = pq.top();
+            visited[u] = true;
+            if (cheapest[u] != null) {
+                result.add(cheapest[u]);
             }
-        };
 
-        visit.accept(start);
-        while (!pq.isEmpty()) {
-            final WeightedEdge edge = pq.poll();
-            if (visited[edge.v]) {
-                continue;
+            for (WeightedEdge edge : edgesOf(u)) {
+                if (!visited[edge.v] && (cheapest[edge.v] == null || edge.weight < cheapest[edge.v].weight)) {
+                    cheapest[edge.v] = edge;
+                    if (!pq.decreaseKey(edge.v, edge.weight)) {
+                        pq.insert(edge.v, edge.weight);
+                    }
+                }
             }
-            result.add(edge);
-            visit.accept(edge.v);
         }
 
         return result;
@@ -117,11 +118,11 @@ public class WeightedGraph<V> extends AbstractGraph<V, WeightedEdge> {
         visited[first] = true;
 
         final Map<Integer, WeightedEdge> pathMap = new HashMap<>();
-        final PriorityQueue<DijkstraNode> pq = new PriorityQueue<>();
-        pq.offer(new DijkstraNode(first, 0));
+        final IndexedDoubleHeap pq = new IndexedDoubleHeap(vertexCount());
+        pq.insert(first, 0);
 
         while (!pq.isEmpty()) {
-            int u = pq.poll().vertex;
+            int u = pq.top();
             double distU = distances[u];
 
             for (WeightedEdge we : edgesOf(u)) {
@@ -131,7 +132,9 @@ public class WeightedGraph<V> extends AbstractGraph<V, WeightedEdge> {
                     visited[we.v] = true;
                     distances[we.v] = pathWeight;
                     pathMap.put(we.v, we);
-                    pq.offer(new DijkstraNode(we.v, pathWeight));
+                    if (!pq.decreaseKey(we.v, pathWeight)) {
+                        pq.insert(we.v, pathWeight);
+                    }
                 }
             }
         }
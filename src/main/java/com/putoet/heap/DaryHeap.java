@@ -0,0 +1,250 @@
+package com.putoet.heap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Min heap of distinct elements where every node has arity children, 4 by default, which makes the tree
+// shallower than a binary heap and keeps the children of a node next to each other. Keys and elements are
+// stored in two separate arrays, so sifting compares keys without going through entry objects. Element
+// positions are kept in a hash map like MinHeapSet does. Entries added in bulk are heapified bottom up in O(n).
+public class DaryHeap<K extends Comparable<K>, T> implements Heap<K, T> {
+    public static final int DEFAULT_ARITY = 4;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int arity;
+    private Object[] keys = new Object[INITIAL_CAPACITY];
+    private Object[] elements = new Object[INITIAL_CAPACITY];
+    private int size;
+    private final Map<T, Integer> positions = new HashMap<>();
+
+    public DaryHeap() {
+        this(DEFAULT_ARITY);
+    }
+
+    public DaryHeap(int arity) {
+        assert arity >= 2;
+
+        this.arity = arity;
+    }
+
+    public DaryHeap(Collection<Heap.Entry<K, T>> entries) {
+        this(DEFAULT_ARITY, entries);
+    }
+
+    public DaryHeap(int arity, Collection<Heap.Entry<K, T>> entries) {
+        this(arity);
+        assert entries != null;
+
+        insertAll(entries);
+    }
+
+    public int arity() {
+        return arity;
+    }
+
+    @Override
+    public T top() {
+        if (size == 0)
+            throw new IllegalStateException("Heap is empty");
+
+        return removeTop();
+    }
+
+    // Appends the new entries and restores the heap with Floyd's bottom up heapify when that is cheaper than
+    // inserting them one by one
+    @Override
+    public boolean insertAll(Collection<Heap.Entry<K, T>> entries) {
+        assert entries != null;
+
+        final int oldSize = size;
+        if (!heapifyCheaper(oldSize, entries.size()))
+            return Heap.super.insertAll(entries);
+
+        ensureCapacity(size + entries.size());
+        for (Heap.Entry<K, T> entry : entries) {
+            assert entry.key() != null;
+
+            if (positions.putIfAbsent(entry.element(), size) == null) {
+                keys[size] = entry.key();
+                elements[size] = entry.element();
+                size++;
+            }
+        }
+        if (size > 1) {
+            for (int idx = (size - 2) / arity; idx >= 0; idx--)
+                pushDown(idx, key(idx), element(idx));
+        }
+
+        return size > oldSize;
+    }
+
+    @Override
+    public List<T> topK(int k) {
+        assert k >= 0;
+
+        final int count = Math.min(k, size);
+        final List<T> result = new ArrayList<>(count);
+        for (int idx = 0; idx < count; idx++)
+            result.add(removeTop());
+
+        return result;
+    }
+
+    private T removeTop() {
+        final T top = element(0);
+        positions.remove(top);
+        size--;
+        if (size > 0)
+            pushDown(0, key(size), element(size));
+        keys[size] = null;
+        elements[size] = null;
+
+        return top;
+    }
+
+    @Override
+    public T peek() {
+        if (size == 0)
+            throw new IllegalStateException("Heap is empty");
+
+        return element(0);
+    }
+
+    @Override
+    public boolean insert(K key, T element) {
+        assert key != null;
+
+        if (positions.putIfAbsent(element, size) != null)
+            return false;
+
+        ensureCapacity(size + 1);
+        bubbleUp(size++, key, element);
+
+        return true;
+    }
+
+    @Override
+    public boolean remove(T element) {
+        final Integer idx = positions.remove(element);
+        if (idx == null)
+            return false;
+
+        size--;
+        if (idx < size) {
+            final K oldKey = key(idx);
+            final K lastKey = key(size);
+            if (lastKey.compareTo(oldKey) < 0)
+                bubbleUp(idx, lastKey, element(size));
+            else
+                pushDown(idx, lastKey, element(size));
+        }
+        keys[size] = null;
+        elements[size] = null;
+
+        return true;
+    }
+
+    @Override
+    public boolean update(T element, K updatedKey) {
+        assert updatedKey != null;
+
+        final Integer idx = positions.get(element);
+        if (idx == null)
+            return false;
+
+        if (updatedKey.compareTo(key(idx)) < 0)
+            bubbleUp(idx, updatedKey, element);
+        else
+            pushDown(idx, updatedKey, element);
+
+        return true;
+    }
+
+    @Override
+    public boolean contains(T element) {
+        return positions.containsKey(element);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // heapify touches every entry about arity times, inserting one by one costs up to the tree depth per entry
+    private boolean heapifyCheaper(int size, int added) {
+        final int total = size + added;
+        final int depth = (32 - Integer.numberOfLeadingZeros(total)) / (31 - Integer.numberOfLeadingZeros(arity));
+        return (long) added * depth > (long) arity * total;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > keys.length) {
+            final int length = Math.max(capacity, keys.length * 2);
+            keys = Arrays.copyOf(keys, length);
+            elements = Arrays.copyOf(elements, length);
+        }
+    }
+
+    private void bubbleUp(int idx, K key, T element) {
+        while (idx > 0) {
+            final int parentIdx = (idx - 1) / arity;
+            if (key(parentIdx).compareTo(key) <= 0)
+                break;
+
+            set(idx, key(parentIdx), element(parentIdx));
+            idx = parentIdx;
+        }
+        set(idx, key, element);
+    }
+
+    private void pushDown(int idx, K key, T element) {
+        while (true) {
+            final int firstChildIdx = idx * arity + 1;
+            if (firstChildIdx >= size)
+                break;
+
+            int childIdx = firstChildIdx;
+            K childKey = key(firstChildIdx);
+            final int lastChildIdx = Math.min(firstChildIdx + arity, size);
+            for (int i = firstChildIdx + 1; i < lastChildIdx; i++) {
+                final K candidate = key(i);
+                if (candidate.compareTo(childKey) < 0) {
+                    childIdx = i;
+                    childKey = candidate;
+                }
+            }
+            if (childKey.compareTo(key) >= 0)
+                break;
+
+            set(idx, childKey, element(childIdx));
+            idx = childIdx;
+        }
+        set(idx, key, element);
+    }
+
+    private void set(int idx, K key, T element) {
+        keys[idx] = key;
+        elements[idx] = element;
+        positions.put(element, idx);
+    }
+
+    @SuppressWarnings("unchecked")
+    private K key(int idx) {
+        return (K) keys[idx];
+    }
+
+    @SuppressWarnings("unchecked")
+    private T element(int idx) {
+        return (T) elements[idx];
+    }
+}
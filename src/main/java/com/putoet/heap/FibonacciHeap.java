@@ -0,0 +1,248 @@
+package com.putoet.heap;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Fibonacci heap of distinct elements. Every element has a node, found through a hash map, which serves as
+// handle for update and remove. Insert and lowering a key are O(1) amortised, top and remove are O(log n)
+// amortised. Raising a key removes the node and inserts it again.
+public class FibonacciHeap<K extends Comparable<K>, T> implements Heap<K, T> {
+    private static final class Node<K, T> {
+        private K key;
+        private final T element;
+        private Node<K, T> parent;
+        private Node<K, T> child;
+        private Node<K, T> left = this;
+        private Node<K, T> right = this;
+        private int degree;
+        private boolean marked;
+
+        private Node(K key, T element) {
+            this.key = key;
+            this.element = element;
+        }
+    }
+
+    // the degree of a node is below log(n) / log(golden ratio), so well below 64 for int sizes
+    private static final int MAX_DEGREE = 64;
+
+    private final Map<T, Node<K, T>> nodes = new HashMap<>();
+    @SuppressWarnings("unchecked")
+    private final Node<K, T>[] degrees = new Node[MAX_DEGREE];
+    private Node<K, T> minimum;
+
+    @Override
+    public T top() {
+        if (minimum == null)
+            throw new IllegalStateException("Heap is empty");
+
+        final Node<K, T> top = minimum;
+        nodes.remove(top.element);
+        removeMinimum();
+
+        return top.element;
+    }
+
+    @Override
+    public T peek() {
+        if (minimum == null)
+            throw new IllegalStateException("Heap is empty");
+
+        return minimum.element;
+    }
+
+    @Override
+    public boolean insert(K key, T element) {
+        assert key != null;
+
+        if (nodes.containsKey(element))
+            return false;
+
+        final Node<K, T> node = new Node<>(key, element);
+        nodes.put(element, node);
+        addRoot(node);
+
+        return true;
+    }
+
+    @Override
+    public boolean remove(T element) {
+        final Node<K, T> node = nodes.remove(element);
+        if (node == null)
+            return false;
+
+        // as if the key was lowered below all others
+        if (node.parent != null) {
+            final Node<K, T> parent = node.parent;
+            cut(node, parent);
+            cascadingCut(parent);
+        }
+        minimum = node;
+        removeMinimum();
+
+        return true;
+    }
+
+    @Override
+    public boolean update(T element, K updatedKey) {
+        assert updatedKey != null;
+
+        final Node<K, T> node = nodes.get(element);
+        if (node == null)
+            return false;
+
+        final int compare = updatedKey.compareTo(node.key);
+        if (compare < 0) {
+            node.key = updatedKey;
+            final Node<K, T> parent = node.parent;
+            if (parent != null && node.key.compareTo(parent.key) < 0) {
+                cut(node, parent);
+                cascadingCut(parent);
+            }
+            if (node.key.compareTo(minimum.key) < 0)
+                minimum = node;
+        } else if (compare > 0) {
+            remove(element);
+            insert(updatedKey, element);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean contains(T element) {
+        return nodes.containsKey(element);
+    }
+
+    @Override
+    public int size() {
+        return nodes.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return minimum == null;
+    }
+
+    private void addRoot(Node<K, T> node) {
+        node.parent = null;
+        node.marked = false;
+        if (minimum == null) {
+            node.left = node.right = node;
+            minimum = node;
+        } else {
+            splice(minimum, node);
+            if (node.key.compareTo(minimum.key) < 0)
+                minimum = node;
+        }
+    }
+
+    // inserts a single node to the right of anchor in its circular list
+    private static <K, T> void splice(Node<K, T> anchor, Node<K, T> node) {
+        node.right = anchor.right;
+        node.left = anchor;
+        anchor.right.left = node;
+        anchor.right = node;
+    }
+
+    private static <K, T> void unlink(Node<K, T> node) {
+        node.left.right = node.right;
+        node.right.left = node.left;
+        node.left = node.right = node;
+    }
+
+    private void removeMinimum() {
+        final Node<K, T> top = minimum;
+
+        // children become roots
+        Node<K, T> child = top.child;
+        for (int idx = 0; idx < top.degree; idx++) {
+            final Node<K, T> next = child.right;
+            unlink(child);
+            child.parent = null;
+            child.marked = false;
+            splice(top, child);
+            child = next;
+        }
+        top.child = null;
+        top.degree = 0;
+
+        final Node<K, T> next = top.right;
+        unlink(top);
+        if (next == top) {
+            minimum = null;
+        } else {
+            minimum = next;
+            consolidate();
+        }
+    }
+
+    // links roots of equal degree until all roots have distinct degrees, then finds the new minimum
+    private void consolidate() {
+        Node<K, T> current = minimum;
+        Node<K, T> last = minimum.left;
+        boolean done = false;
+        while (!done) {
+            done = current == last;
+            Node<K, T> node = current;
+            current = current.right;
+
+            while (degrees[node.degree] != null) {
+                Node<K, T> other = degrees[node.degree];
+                degrees[node.degree] = null;
+                if (other.key.compareTo(node.key) < 0) {
+                    final Node<K, T> swap = node;
+                    node = other;
+                    other = swap;
+                }
+                link(other, node);
+            }
+            degrees[node.degree] = node;
+        }
+
+        minimum = null;
+        for (int degree = 0; degree < MAX_DEGREE; degree++) {
+            final Node<K, T> node = degrees[degree];
+            if (node != null) {
+                degrees[degree] = null;
+                if (minimum == null || node.key.compareTo(minimum.key) < 0)
+                    minimum = node;
+            }
+        }
+    }
+
+    // makes root child a child of root parent
+    private void link(Node<K, T> child, Node<K, T> parent) {
+        unlink(child);
+        child.parent = parent;
+        child.marked = false;
+        if (parent.child == null)
+            parent.child = child;
+        else
+            splice(parent.child, child);
+        parent.degree++;
+    }
+
+    private void cut(Node<K, T> node, Node<K, T> parent) {
+        if (parent.child == node)
+            parent.child = node.right == node ? null : node.right;
+        unlink(node);
+        parent.degree--;
+
+        splice(minimum, node);
+        node.parent = null;
+        node.marked = false;
+    }
+
+    private void cascadingCut(Node<K, T> node) {
+        while (node.parent != null) {
+            if (!node.marked) {
+                node.marked = true;
+                return;
+            }
+
+            final Node<K, T> parent = node.parent;
+            cut(node, parent);
+            node = parent;
+        }
+    }
+}
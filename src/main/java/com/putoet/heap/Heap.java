@@ -1,5 +1,9 @@
 package com.putoet.heap;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 public interface Heap<K extends Comparable<K>,T> {
     record Entry<K extends Comparable<K>,T>(K key, T element) {}
 
@@ -8,6 +12,33 @@ public interface Heap<K extends Comparable<K>,T> {
     boolean insert(K key, T element);
     boolean remove(T element);
     boolean update(T element, K updatedKey);
+    boolean contains(T element);
     int size();
     boolean isEmpty();
+
+    // Inserts all entries, returns true when at least one was added
+    default boolean insertAll(Collection<Entry<K, T>> entries) {
+        assert entries != null;
+
+        boolean added = false;
+        for (Entry<K, T> entry : entries)
+            added |= insert(entry.key(), entry.element());
+
+        return added;
+    }
+
+    // Removes and returns the (at most) k elements with the lowest keys, lowest first
+    default List<T> topK(int k) {
+        assert k >= 0;
+
+        final List<T> result = new ArrayList<>(Math.min(k, size()));
+        while (result.size() < k && !isEmpty())
+            result.add(top());
+
+        return result;
+    }
+
+    default List<T> drainSorted() {
+        return topK(size());
+    }
 }
@@ -0,0 +1,177 @@
+package com.putoet.heap;
+
+import java.util.Arrays;
+
+// Binary min heap of int elements in the range 0 until capacity (typically graph vertices) with primitive double
+// keys. The heap, the keys and the position of every element are flat arrays, so no operation allocates and
+// contains and key are O(1), decreaseKey, update and remove O(log n).
+public class IndexedDoubleHeap {
+    private static final int ABSENT = -1;
+
+    private final int[] heap;
+    private final int[] positions;
+    private final double[] keys;
+    private int size;
+
+    public IndexedDoubleHeap(int capacity) {
+        assert capacity >= 0;
+
+        heap = new int[capacity];
+        positions = new int[capacity];
+        keys = new double[capacity];
+        Arrays.fill(positions, ABSENT);
+    }
+
+    public int capacity() {
+        return positions.length;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int element) {
+        checkElement(element);
+        return positions[element] != ABSENT;
+    }
+
+    public double key(int element) {
+        if (!contains(element))
+            throw new IllegalArgumentException("Element " + element + " is not on the heap");
+
+        return keys[element];
+    }
+
+    public boolean insert(int element, double key) {
+        if (contains(element))
+            return false;
+
+        keys[element] = key;
+        heap[size] = element;
+        positions[element] = size;
+        bubbleUp(size++);
+
+        return true;
+    }
+
+    // Lowers the key of an element, returns false when the element is not on the heap or its key is not lower
+    public boolean decreaseKey(int element, double key) {
+        if (!contains(element) || !(key < keys[element]))
+            return false;
+
+        keys[element] = key;
+        bubbleUp(positions[element]);
+
+        return true;
+    }
+
+    public boolean update(int element, double key) {
+        if (!contains(element))
+            return false;
+
+        final double oldKey = keys[element];
+        keys[element] = key;
+        if (key < oldKey)
+            bubbleUp(positions[element]);
+        else
+            pushDown(positions[element]);
+
+        return true;
+    }
+
+    public int peek() {
+        if (size == 0)
+            throw new IllegalStateException("Heap is empty");
+
+        return heap[0];
+    }
+
+    public double peekKey() {
+        return keys[peek()];
+    }
+
+    public int top() {
+        final int top = peek();
+        removeAt(0);
+
+        return top;
+    }
+
+    public boolean remove(int element) {
+        if (!contains(element))
+            return false;
+
+        removeAt(positions[element]);
+        return true;
+    }
+
+    public void clear() {
+        for (int idx = 0; idx < size; idx++)
+            positions[heap[idx]] = ABSENT;
+        size = 0;
+    }
+
+    private void removeAt(int idx) {
+        final int element = heap[idx];
+        positions[element] = ABSENT;
+        size--;
+        if (idx == size)
+            return;
+
+        final int last = heap[size];
+        heap[idx] = last;
+        positions[last] = idx;
+        if (keys[last] < keys[element])
+            bubbleUp(idx);
+        else
+            pushDown(idx);
+    }
+
+    private void bubbleUp(int idx) {
+        final int element = heap[idx];
+        final double key = keys[element];
+        while (idx > 0) {
+            final int parentIdx = (idx - 1) >>> 1;
+            final int parent = heap[parentIdx];
+            if (keys[parent] <= key)
+                break;
+
+            heap[idx] = parent;
+            positions[parent] = idx;
+            idx = parentIdx;
+        }
+        heap[idx] = element;
+        positions[element] = idx;
+    }
+
+    private void pushDown(int idx) {
+        final int element = heap[idx];
+        final double key = keys[element];
+        while (true) {
+            int childIdx = 2 * idx + 1;
+            if (childIdx >= size)
+                break;
+            if (childIdx + 1 < size && keys[heap[childIdx + 1]] < keys[heap[childIdx]])
+                childIdx++;
+
+            final int child = heap[childIdx];
+            if (keys[child] >= key)
+                break;
+
+            heap[idx] = child;
+            positions[child] = idx;
+            idx = childIdx;
+        }
+        heap[idx] = element;
+        positions[element] = idx;
+    }
+
+    private void checkElement(int element) {
+        if (element < 0 || element >= positions.length)
+            throw new IllegalArgumentException("Element " + element + " is outside the heap (capacity: " + positions.length + ")");
+    }
+}
@@ -1,22 +1,80 @@
 package com.putoet.heap;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+// Binary min heap of distinct elements. The position of every element in the heap is kept in a hash map, so
+// contains is O(1) and remove and update are O(log n). Entries added in bulk are heapified bottom up in O(n).
 public class MinHeapSet<K extends Comparable<K>, T> implements Heap<K, T> {
-    private final List<Heap.Entry<K, T>> elements = new ArrayList<>();
+    private final List<Heap.Entry<K, T>> elements;
+    private final Map<T, Integer> positions;
+
+    public MinHeapSet() {
+        elements = new ArrayList<>();
+        positions = new HashMap<>();
+    }
+
+    public MinHeapSet(Collection<Heap.Entry<K, T>> entries) {
+        assert entries != null;
+
+        elements = new ArrayList<>(entries.size());
+        positions = new HashMap<>(Math.max(16, (int) (entries.size() / 0.75f) + 1));
+        insertAll(entries);
+    }
 
     @Override
     public T top() {
         if (elements.isEmpty())
             throw new IllegalStateException("Heap is empty");
 
+        return removeTop();
+    }
+
+    // Appends the new entries and restores the heap with Floyd's bottom up heapify when that is cheaper than
+    // inserting them one by one
+    @Override
+    public boolean insertAll(Collection<Heap.Entry<K, T>> entries) {
+        assert entries != null;
+
+        final int size = elements.size();
+        if (!heapifyCheaper(size, entries.size()))
+            return Heap.super.insertAll(entries);
+
+        for (Heap.Entry<K, T> entry : entries) {
+            if (positions.putIfAbsent(entry.element(), elements.size()) == null)
+                elements.add(entry);
+        }
+        for (int idx = getParentIdx(elements.size() - 1); idx >= 0; idx--)
+            pushDown(idx);
+
+        return elements.size() > size;
+    }
+
+    @Override
+    public List<T> topK(int k) {
+        assert k >= 0;
+
+        final int count = Math.min(k, elements.size());
+        final List<T> result = new ArrayList<>(count);
+        for (int idx = 0; idx < count; idx++)
+            result.add(removeTop());
+
+        return result;
+    }
+
+    private T removeTop() {
         final var last = elements.removeLast();
-        if (elements.isEmpty())
+        if (elements.isEmpty()) {
+            positions.remove(last.element());
             return last.element();
+        }
 
         final var top = elements.get(0);
-        elements.set(0, last);
+        positions.remove(top.element());
+        set(0, last);
         pushDown();
 
         return top.element();
@@ -35,19 +93,19 @@ public class MinHeapSet<K extends Comparable<K>, T> implements Heap<K, T> {
         if (elements.isEmpty())
             return false;
 
-        final var idx = findIdx(element);
-        if (idx == -1)
+        final Integer idx = positions.remove(element);
+        if (idx == null)
             return false;
 
         if (idx == elements.size() - 1) {
-            elements.remove(idx);
+            elements.removeLast();
             return true;
         }
 
         final var last = elements.removeLast();
         final var oldKey = elements.get(idx).key();
         final var updatedKey = last.key();
-        elements.set(idx, last);
+        set(idx, last);
 
         if (updatedKey.compareTo(oldKey) < 0)
             bubbleUp(idx);
@@ -62,7 +120,10 @@ public class MinHeapSet<K extends Comparable<K>, T> implements Heap<K, T> {
         if (elements.isEmpty())
             return false;
 
-        final var idx = findIdx(element);
+        final Integer idx = positions.get(element);
+        if (idx == null)
+            return false;
+
         final var oldKey = elements.get(idx).key();
         elements.set(idx, new Entry<>(updatedKey, element));
 
@@ -74,6 +135,11 @@ public class MinHeapSet<K extends Comparable<K>, T> implements Heap<K, T> {
         return true;
     }
 
+    @Override
+    public boolean contains(T element) {
+        return positions.containsKey(element);
+    }
+
     @Override
     public int size() {
         return elements.size();
@@ -86,10 +152,19 @@ public class MinHeapSet<K extends Comparable<K>, T> implements Heap<K, T> {
 
     @Override
     public boolean insert(K key, T element) {
-        final var added = elements.add(new Entry<>(key, element));
+        if (positions.putIfAbsent(element, elements.size()) != null)
+            return false;
+
+        elements.add(new Entry<>(key, element));
         bubbleUp();
 
-        return added;
+        return true;
+    }
+
+    // heapify touches every entry about twice, inserting one by one costs up to log(n) per entry
+    private static boolean heapifyCheaper(int size, int added) {
+        final int total = size + added;
+        return (long) added * (32 - Integer.numberOfLeadingZeros(total)) > 2L * total;
     }
 
     private void bubbleUp() {
@@ -101,13 +176,13 @@ public class MinHeapSet<K extends Comparable<K>, T> implements Heap<K, T> {
         while (idx > 0) {
             final int parentIdx = getParentIdx(idx);
             if (elements.get(parentIdx).key().compareTo(current.key()) > 0) {
-                elements.set(idx, elements.get(parentIdx));
+                set(idx, elements.get(parentIdx));
                 idx = parentIdx;
             } else {
                 break;
             }
         }
-        elements.set(idx, current);
+        set(idx, current);
     }
 
     private void pushDown() {
@@ -122,21 +197,18 @@ public class MinHeapSet<K extends Comparable<K>, T> implements Heap<K, T> {
         while (idx < firstLeafIndex()) {
             final int childIdx = lowestPriorityChild(elements, idx);
             if (elements.get(childIdx).key().compareTo(current.key()) < 0) {
-                elements.set(idx, elements.get(childIdx));
+                set(idx, elements.get(childIdx));
                 idx = childIdx;
             } else {
                 break;
             }
         }
-        elements.set(idx, current);
+        set(idx, current);
     }
 
-    private int findIdx(T element) {
-        for (int idx = 0; idx < elements.size(); idx++)
-            if (elements.get(idx).element().equals(element))
-                return idx;
-
-        return -1;
+    private void set(int idx, Heap.Entry<K, T> entry) {
+        elements.set(idx, entry);
+        positions.put(entry.element(), idx);
     }
 
     private int lowestPriorityChild(List<Heap.Entry<K, T>> elements, int idx) {
@@ -0,0 +1,184 @@
+package com.putoet.heap;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Pairing heap of distinct elements. Every element has a node, found through a hash map, which serves as handle
+// for update and remove. Insert and lowering a key are O(1), top is O(log n) amortised, which suits workloads
+// with many more decrease key than top operations. Raising a key removes the node and melds it back.
+public class PairingHeap<K extends Comparable<K>, T> implements Heap<K, T> {
+    private static final class Node<K, T> {
+        private K key;
+        private final T element;
+        private Node<K, T> child;
+        private Node<K, T> sibling;
+        // the parent for the leftmost child, the left sibling for the others
+        private Node<K, T> prev;
+
+        private Node(K key, T element) {
+            this.key = key;
+            this.element = element;
+        }
+    }
+
+    private final Map<T, Node<K, T>> nodes = new HashMap<>();
+    private Node<K, T> root;
+
+    @Override
+    public T top() {
+        if (root == null)
+            throw new IllegalStateException("Heap is empty");
+
+        final Node<K, T> top = root;
+        nodes.remove(top.element);
+        root = mergePairs(top.child);
+        top.child = null;
+
+        return top.element;
+    }
+
+    @Override
+    public T peek() {
+        if (root == null)
+            throw new IllegalStateException("Heap is empty");
+
+        return root.element;
+    }
+
+    @Override
+    public boolean insert(K key, T element) {
+        assert key != null;
+
+        if (nodes.containsKey(element))
+            return false;
+
+        final Node<K, T> node = new Node<>(key, element);
+        nodes.put(element, node);
+        root = meld(root, node);
+
+        return true;
+    }
+
+    @Override
+    public boolean remove(T element) {
+        final Node<K, T> node = nodes.get(element);
+        if (node == null)
+            return false;
+
+        if (node == root) {
+            top();
+        } else {
+            nodes.remove(element);
+            detach(node);
+            root = meld(root, mergePairs(node.child));
+            node.child = null;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean update(T element, K updatedKey) {
+        assert updatedKey != null;
+
+        final Node<K, T> node = nodes.get(element);
+        if (node == null)
+            return false;
+
+        final int compare = updatedKey.compareTo(node.key);
+        node.key = updatedKey;
+        if (compare < 0) {
+            if (node != root) {
+                detach(node);
+                root = meld(root, node);
+            }
+        } else if (compare > 0) {
+            // the subtree may now hold smaller keys than the node itself, so take the node out of it
+            final Node<K, T> children = mergePairs(node.child);
+            node.child = null;
+            if (node == root) {
+                root = meld(children, node);
+            } else {
+                detach(node);
+                root = meld(meld(root, children), node);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean contains(T element) {
+        return nodes.containsKey(element);
+    }
+
+    @Override
+    public int size() {
+        return nodes.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    // links two roots, the one with the larger key becomes the leftmost child of the other
+    private Node<K, T> meld(Node<K, T> a, Node<K, T> b) {
+        if (a == null)
+            return b;
+        if (b == null)
+            return a;
+
+        if (b.key.compareTo(a.key) < 0) {
+            final Node<K, T> swap = a;
+            a = b;
+            b = swap;
+        }
+        b.sibling = a.child;
+        if (a.child != null)
+            a.child.prev = b;
+        b.prev = a;
+        a.child = b;
+
+        return a;
+    }
+
+    private void detach(Node<K, T> node) {
+        if (node.prev.child == node)
+            node.prev.child = node.sibling;
+        else
+            node.prev.sibling = node.sibling;
+        if (node.sibling != null)
+            node.sibling.prev = node.prev;
+
+        node.prev = null;
+        node.sibling = null;
+    }
+
+    // the standard two pass pairing, melding pairs from left to right and the results from right to left,
+    // done iteratively to stay clear of deep recursion on long sibling lists
+    private Node<K, T> mergePairs(Node<K, T> first) {
+        Node<K, T> pairs = null;
+        Node<K, T> current = first;
+        while (current != null) {
+            final Node<K, T> a = current;
+            final Node<K, T> b = a.sibling;
+            current = b == null ? null : b.sibling;
+
+            a.prev = a.sibling = null;
+            if (b != null)
+                b.prev = b.sibling = null;
+
+            final Node<K, T> pair = meld(a, b);
+            pair.sibling = pairs;
+            pairs = pair;
+        }
+
+        Node<K, T> result = null;
+        while (pairs != null) {
+            final Node<K, T> pair = pairs;
+            pairs = pair.sibling;
+            pair.sibling = null;
+            result = meld(result, pair);
+        }
+        return result;
+    }
+}
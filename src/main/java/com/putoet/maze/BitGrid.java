@@ -0,0 +1,127 @@
+package com.putoet.maze;
+
+import java.util.SplittableRandom;
+
+// Grid of cells packed as bits in row major order, one bit set for blocked cells and one for cells marked as
+// part of a path, so two bits per cell. Start and goal are kept by the mazes themselves.
+final class BitGrid {
+    private final int rows, columns;
+    private final long[] blocked;
+    private final long[] path;
+
+    BitGrid(int rows, int columns) {
+        assert rows > 0;
+        assert columns > 0;
+
+        final long words = ((long) rows * columns + 63) >>> 6;
+        if (words > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("A grid of " + rows + " by " + columns + " cells is too large");
+
+        this.rows = rows;
+        this.columns = columns;
+        this.blocked = new long[(int) words];
+        this.path = new long[(int) words];
+    }
+
+    int rows() {
+        return rows;
+    }
+
+    int columns() {
+        return columns;
+    }
+
+    boolean blocked(int row, int column) {
+        final long idx = index(row, column);
+        return (blocked[(int) (idx >>> 6)] & (1L << idx)) != 0;
+    }
+
+    boolean path(int row, int column) {
+        final long idx = index(row, column);
+        return (path[(int) (idx >>> 6)] & (1L << idx)) != 0;
+    }
+
+    void block(int row, int column) {
+        final long idx = index(row, column);
+        blocked[(int) (idx >>> 6)] |= 1L << idx;
+    }
+
+    void unblock(int row, int column) {
+        final long idx = index(row, column);
+        blocked[(int) (idx >>> 6)] &= ~(1L << idx);
+    }
+
+    // marking a cell as path opens it, like overwriting the cell did with the former Cell[][] grids
+    void mark(int row, int column) {
+        final long idx = index(row, column);
+        path[(int) (idx >>> 6)] |= 1L << idx;
+        blocked[(int) (idx >>> 6)] &= ~(1L << idx);
+    }
+
+    void clear(int row, int column) {
+        final long idx = index(row, column);
+        path[(int) (idx >>> 6)] &= ~(1L << idx);
+        blocked[(int) (idx >>> 6)] &= ~(1L << idx);
+    }
+
+    // smallest number of rows after which a row starts on a word boundary again, bands of a multiple of this
+    // many rows never share a word and can be written concurrently
+    int alignedRows() {
+        return 64 / gcd(columns, 64);
+    }
+
+    // blocks each cell of rows [fromRow, toRow) with probability sparseness, a word at a time
+    void randomlyBlock(int fromRow, int toRow, double sparseness, SplittableRandom random) {
+        assert fromRow >= 0 && fromRow <= toRow && toRow <= rows;
+        assert random != null;
+
+        final long from = (long) fromRow * columns;
+        final long to = (long) toRow * columns;
+        long word = 0L;
+        for (long idx = from; idx < to; idx++) {
+            if (random.nextDouble() < sparseness)
+                word |= 1L << idx;
+
+            if ((idx & 63) == 63 || idx + 1 == to) {
+                blocked[(int) (idx >>> 6)] |= word;
+                word = 0L;
+            }
+        }
+    }
+
+    // the four neighbours of a cell index that are not blocked, same order as the successors of the mazes
+    int successors(int index, int[] buffer) {
+        final int row = index / columns;
+        final int column = index - row * columns;
+
+        int count = 0;
+        if (row + 1 < rows && !blocked(index + columns)) {
+            buffer[count++] = index + columns;
+        }
+        if (row > 0 && !blocked(index - columns)) {
+            buffer[count++] = index - columns;
+        }
+        if (column + 1 < columns && !blocked(index + 1)) {
+            buffer[count++] = index + 1;
+        }
+        if (column > 0 && !blocked(index - 1)) {
+            buffer[count++] = index - 1;
+        }
+        return count;
+    }
+
+    private boolean blocked(int index) {
+        return (blocked[index >>> 6] & (1L << index)) != 0;
+    }
+
+    private static int gcd(int a, int b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+
+    private long index(int row, int column) {
+        assert row >= 0 && row < rows;
+        assert column >= 0 && column < columns;
+
+        return (long) row * columns + column;
+    }
+}
@@ -0,0 +1,222 @@
+package com.putoet.maze;
+
+import com.putoet.search.GenericSearch;
+import com.putoet.search.SearchListener;
+
+import java.util.*;
+
+// Incremental shortest paths on a 4-connected maze with D* Lite (Koenig and Likhachev). The search runs backwards
+// from the goal and keeps its g and rhs values between plans. After cells are blocked or opened, call update for
+// each changed cell, the next plan only repairs the part of the search affected by the changes. The start may
+// move along the path between plans.
+public class DStarLite {
+    private static final double INFINITY = Double.POSITIVE_INFINITY;
+
+    private record Entry(int index, double key1, double key2) implements Comparable<Entry> {
+        @Override
+        public int compareTo(Entry other) {
+            final int compare = Double.compare(key1, other.key1);
+            return compare != 0 ? compare : Double.compare(key2, other.key2);
+        }
+    }
+
+    private final Maze<?> maze;
+    private final int columns;
+    private final int goal;
+    private int start;
+    private int last;
+    private double km;
+
+    private final double[] g;
+    private final double[] rhs;
+    // number of cells with a finite g value, reported as explored
+    private int explored;
+
+    // the queue removes lazily, an entry is only valid while it matches the current key of its cell
+    private final PriorityQueue<Entry> queue = new PriorityQueue<>();
+    private final boolean[] queued;
+    private final double[] queuedKey1;
+    private final double[] queuedKey2;
+
+    private final int[] neighbours = new int[8];
+    private final int[] successors = new int[8];
+
+    public DStarLite(Maze<?> maze, Maze.Location start, Maze.Location goal) {
+        assert maze != null;
+        assert start != null;
+        assert goal != null;
+
+        final long cells = (long) maze.rows() * maze.columns();
+        if (cells > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Maze has too many cells for D* Lite (" + cells + ")");
+        if (maze instanceof WeightedMaze weighted && weighted.diagonal())
+            throw new IllegalArgumentException("D* Lite needs a 4-connected maze, not one with diagonal moves");
+        Maze.checkLocation(start, maze.rows(), maze.columns());
+        Maze.checkLocation(goal, maze.rows(), maze.columns());
+
+        this.maze = maze;
+        this.columns = maze.columns();
+        this.start = maze.index(start);
+        this.last = this.start;
+        this.goal = maze.index(goal);
+
+        g = new double[(int) cells];
+        rhs = new double[(int) cells];
+        queued = new boolean[(int) cells];
+        queuedKey1 = new double[(int) cells];
+        queuedKey2 = new double[(int) cells];
+        Arrays.fill(g, INFINITY);
+        Arrays.fill(rhs, INFINITY);
+
+        rhs[this.goal] = maze.blocked(goal.row(), goal.column()) ? INFINITY : 0.0;
+        insert(this.goal);
+    }
+
+    public Optional<GenericSearch.Node<Maze.Location>> plan() {
+        return plan(SearchListener.NONE);
+    }
+
+    public Optional<GenericSearch.Node<Maze.Location>> plan(SearchListener listener) {
+        assert listener != null;
+
+        listener.started();
+        computeShortestPath(listener);
+        listener.finished(explored);
+
+        if (g[start] == INFINITY)
+            return Optional.empty();
+
+        final List<Maze.Location> path = new ArrayList<>();
+        int current = start;
+        path.add(maze.location(current));
+        while (current != goal) {
+            int next = -1;
+            double best = INFINITY;
+            final int count = maze.successors(current, neighbours);
+            for (int idx = 0; idx < count; idx++) {
+                if (1 + g[neighbours[idx]] < best) {
+                    best = 1 + g[neighbours[idx]];
+                    next = neighbours[idx];
+                }
+            }
+            if (next < 0 || path.size() > g.length)
+                throw new IllegalStateException("No path from " + maze.location(current) + " while one was planned");
+
+            current = next;
+            path.add(maze.location(current));
+        }
+        return Optional.of(GenericSearch.pathToNode(path));
+    }
+
+    public void moveStart(Maze.Location location) {
+        Maze.checkLocation(location, maze.rows(), columns);
+
+        start = maze.index(location);
+        km += heuristic(last, start);
+        last = start;
+    }
+
+    // Call after the cell at location was blocked or opened
+    public void update(Maze.Location location) {
+        Maze.checkLocation(location, maze.rows(), columns);
+
+        final int changed = maze.index(location);
+        updateVertex(changed);
+
+        final int row = location.row();
+        final int column = location.column();
+        if (row + 1 < maze.rows())
+            updateVertex(changed + columns);
+        if (row > 0)
+            updateVertex(changed - columns);
+        if (column + 1 < columns)
+            updateVertex(changed + 1);
+        if (column > 0)
+            updateVertex(changed - 1);
+    }
+
+    private void computeShortestPath(SearchListener listener) {
+        Entry top = top();
+        while (top != null && (less(top.key1, top.key2, key1(start), key2(start)) || rhs[start] != g[start])) {
+            final int u = top.index;
+            listener.nodeExpanded();
+
+            if (less(top.key1, top.key2, key1(u), key2(u))) {
+                insert(u);
+            } else if (g[u] > rhs[u]) {
+                if (g[u] == INFINITY)
+                    explored++;
+                g[u] = rhs[u];
+                queued[u] = false;
+                final int count = maze.successors(u, neighbours);
+                for (int idx = 0; idx < count; idx++) {
+                    updateVertex(neighbours[idx]);
+                }
+            } else {
+                if (g[u] != INFINITY)
+                    explored--;
+                g[u] = INFINITY;
+                updateVertex(u);
+                final int count = maze.successors(u, neighbours);
+                for (int idx = 0; idx < count; idx++) {
+                    updateVertex(neighbours[idx]);
+                }
+            }
+            listener.frontierSize(queue.size());
+            top = top();
+        }
+    }
+
+    private void updateVertex(int u) {
+        if (u == goal) {
+            rhs[u] = maze.blocked(u / columns, u % columns) ? INFINITY : 0.0;
+        } else if (maze.blocked(u / columns, u % columns)) {
+            rhs[u] = INFINITY;
+        } else {
+            double best = INFINITY;
+            final int count = maze.successors(u, successors);
+            for (int idx = 0; idx < count; idx++) {
+                best = Math.min(best, 1 + g[successors[idx]]);
+            }
+            rhs[u] = best;
+        }
+
+        queued[u] = false;
+        if (g[u] != rhs[u])
+            insert(u);
+    }
+
+    private void insert(int u) {
+        queued[u] = true;
+        queuedKey1[u] = key1(u);
+        queuedKey2[u] = key2(u);
+        queue.offer(new Entry(u, queuedKey1[u], queuedKey2[u]));
+    }
+
+    private Entry top() {
+        while (!queue.isEmpty()) {
+            final Entry entry = queue.peek();
+            if (queued[entry.index] && entry.key1 == queuedKey1[entry.index] && entry.key2 == queuedKey2[entry.index])
+                return entry;
+
+            queue.poll();
+        }
+        return null;
+    }
+
+    private double key1(int u) {
+        return Math.min(g[u], rhs[u]) + heuristic(start, u) + km;
+    }
+
+    private double key2(int u) {
+        return Math.min(g[u], rhs[u]);
+    }
+
+    private double heuristic(int from, int to) {
+        return Math.abs(from / columns - to / columns) + Math.abs(from % columns - to % columns);
+    }
+
+    private static boolean less(double a1, double a2, double b1, double b2) {
+        return a1 < b1 || (a1 == b1 && a2 < b2);
+    }
+}
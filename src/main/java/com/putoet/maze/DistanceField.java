@@ -0,0 +1,109 @@
+package com.putoet.maze;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+// Number of steps from every cell of a maze to the nearest of a set of source cells, computed with a single
+// multi-source breadth first search over the cell indices. After the flood fill every distance lookup is O(1).
+// The field can be recomputed for other sources, reusing its arrays.
+public class DistanceField {
+    public static final int UNREACHABLE = -1;
+
+    private final Maze<?> maze;
+    private final int[] distances;
+    private final int[] queue;
+    private final int[] buffer = new int[8];
+
+    public DistanceField(Maze<?> maze) {
+        assert maze != null;
+
+        final long cells = (long) maze.rows() * maze.columns();
+        if (cells > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Maze has too many cells for a distance field (" + cells + ")");
+
+        this.maze = maze;
+        this.distances = new int[(int) cells];
+        this.queue = new int[(int) cells];
+        Arrays.fill(distances, UNREACHABLE);
+    }
+
+    public static DistanceField of(Maze<?> maze, Collection<Maze.Location> sources) {
+        return new DistanceField(maze).compute(sources);
+    }
+
+    public static DistanceField of(Maze<?> maze, Maze.Location source) {
+        return of(maze, List.of(source));
+    }
+
+    public DistanceField compute(Collection<Maze.Location> sources) {
+        assert sources != null;
+
+        Arrays.fill(distances, UNREACHABLE);
+        int head = 0, tail = 0;
+        for (Maze.Location source : sources) {
+            Maze.checkLocation(source, maze.rows(), maze.columns());
+            final int index = maze.index(source);
+            if (!maze.blocked(source.row(), source.column()) && distances[index] == UNREACHABLE) {
+                distances[index] = 0;
+                queue[tail++] = index;
+            }
+        }
+
+        while (head < tail) {
+            final int current = queue[head++];
+            final int count = maze.successors(current, buffer);
+            for (int idx = 0; idx < count; idx++) {
+                final int next = buffer[idx];
+                if (distances[next] == UNREACHABLE) {
+                    distances[next] = distances[current] + 1;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return this;
+    }
+
+    public int distance(Maze.Location location) {
+        Maze.checkLocation(location, maze.rows(), maze.columns());
+        return distances[maze.index(location)];
+    }
+
+    public int distance(int index) {
+        return distances[index];
+    }
+
+    public boolean reachable(Maze.Location location) {
+        return distance(location) != UNREACHABLE;
+    }
+
+    // The backing array indexed like Maze.index, it must not be modified
+    public int[] distances() {
+        return distances;
+    }
+
+    // Shortest path from location to the nearest source, found by descending the distances, or an empty list
+    // when no source can be reached from location
+    public List<Maze.Location> pathFrom(Maze.Location location) {
+        int distance = distance(location);
+        if (distance == UNREACHABLE)
+            return List.of();
+
+        final List<Maze.Location> path = new ArrayList<>(distance + 1);
+        int current = maze.index(location);
+        path.add(location);
+        while (distance > 0) {
+            final int count = maze.successors(current, buffer);
+            for (int idx = 0; idx < count; idx++) {
+                if (distances[buffer[idx]] == distance - 1) {
+                    current = buffer[idx];
+                    break;
+                }
+            }
+            distance--;
+            path.add(maze.location(current));
+        }
+        return path;
+    }
+}
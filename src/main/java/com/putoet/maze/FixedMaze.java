@@ -1,7 +1,6 @@
 package com.putoet.maze;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Predicate;
@@ -34,41 +33,57 @@ public class FixedMaze implements Maze<FixedMaze.Cell> {
 
     private final int rows, columns;
     private final Maze.Location start, goal;
-    private final Cell[][] grid;
+    private final BitGrid grid;
 
     public FixedMaze(List<String> maze) {
         assert maze != null;
         assert !maze.isEmpty();
 
-        grid = maze.stream()
-                .map(line -> line.chars()
-                        .mapToObj(Cell::of)
-                        .toArray(Cell[]::new))
-                .toArray(Cell[][]::new);
+        this.rows = maze.size();
+        this.columns = maze.get(0).length();
+        this.grid = new BitGrid(rows, columns);
 
-        this.rows = grid.length;
-        this.columns = grid[0].length;
-
-        Arrays.stream(grid).forEach(row -> {
-            if (row.length != this.columns)
+        Maze.Location start = null, goal = null;
+        for (int row = 0; row < rows; row++) {
+            final String line = maze.get(row);
+            if (line.length() != columns)
                 throw new IllegalArgumentException("Rows have variable lengths, which is not allowed");
-        });
 
-        this.start = locate(cell -> cell == Cell.START).orElseThrow(() -> new IllegalArgumentException("No start symbol on this maze"));
-        this.goal = locate(cell -> cell == Cell.GOAL).orElseThrow(() -> new IllegalArgumentException("No goal symbol on this maze"));
+            for (int column = 0; column < columns; column++) {
+                switch (Cell.of(line.charAt(column))) {
+                    case BLOCKED -> grid.block(row, column);
+                    case START -> start = start == null ? Maze.Location.of(row, column) : start;
+                    case GOAL -> goal = goal == null ? Maze.Location.of(row, column) : goal;
+                    default -> {}
+                }
+            }
+        }
+
+        if (start == null)
+            throw new IllegalArgumentException("No start symbol on this maze");
+        if (goal == null)
+            throw new IllegalArgumentException("No goal symbol on this maze");
+
+        this.start = start;
+        this.goal = goal;
     }
 
     @Override
     public Optional<Location> locate(Predicate<Cell> filter) {
-        return locate(grid, filter);
+        for (int row = 0; row < rows; row++)
+            for (int column = 0; column < columns; column++)
+                if (filter.test(cell(row, column)))
+                    return Optional.of(Location.of(row, column));
+
+        return Optional.empty();
     }
 
     @Override
     public String toString() {
         final StringBuilder sb = new StringBuilder();
-        for (Cell[] row : grid) {
-            for (Cell cell : row) {
-                sb.append(cell.toString());
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                sb.append(cell(row, column).toString());
             }
             sb.append(System.lineSeparator());
         }
@@ -87,39 +102,56 @@ public class FixedMaze implements Maze<FixedMaze.Cell> {
         assert ml != null;
 
         final List<Maze.Location> locations = new ArrayList<>();
-        if (ml.row() + 1 < rows && grid[ml.row() + 1][ml.column()] != Cell.BLOCKED) {
+        if (ml.row() + 1 < rows && !grid.blocked(ml.row() + 1, ml.column())) {
             locations.add(new Maze.Location(ml.row() + 1, ml.column()));
         }
-        if (ml.row() - 1 >= 0 && grid[ml.row() - 1][ml.column()] != Cell.BLOCKED) {
+        if (ml.row() - 1 >= 0 && !grid.blocked(ml.row() - 1, ml.column())) {
             locations.add(new Maze.Location(ml.row() - 1, ml.column()));
         }
-        if (ml.column() + 1 < columns && grid[ml.row()][ml.column() + 1] != Cell.BLOCKED) {
+        if (ml.column() + 1 < columns && !grid.blocked(ml.row(), ml.column() + 1)) {
             locations.add(new Maze.Location(ml.row(), ml.column() + 1));
         }
-        if (ml.column() - 1 >= 0 && grid[ml.row()][ml.column() - 1] != Cell.BLOCKED) {
+        if (ml.column() - 1 >= 0 && !grid.blocked(ml.row(), ml.column() - 1)) {
             locations.add(new Maze.Location(ml.row(), ml.column() - 1));
         }
         return locations;
     }
 
+    @Override
+    public int successors(int index, int[] buffer) {
+        assert buffer != null && buffer.length >= 8;
+        assert index >= 0 && index < rows * columns;
+
+        return grid.successors(index, buffer);
+    }
+
     public void mark(List<Maze.Location> path) {
         assert path != null;
 
         for (Maze.Location ml : path) {
-            grid[ml.row()][ml.column()] = Cell.PATH;
+            grid.mark(ml.row(), ml.column());
         }
-        grid[start.row()][start.column()] = Cell.START;
-        grid[goal.row()][goal.column()] = Cell.GOAL;
     }
 
     public void clear(List<Maze.Location> path) {
         assert path != null;
 
         for (Maze.Location ml : path) {
-            grid[ml.row()][ml.column()] = Cell.EMPTY;
+            grid.clear(ml.row(), ml.column());
         }
-        grid[start.row()][start.column()] = Cell.START;
-        grid[goal.row()][goal.column()] = Cell.GOAL;
+    }
+
+    public void block(Maze.Location location) {
+        Maze.checkLocation(location, rows, columns);
+        if (location.equals(start) || location.equals(goal))
+            throw new IllegalArgumentException("Cannot block the start or goal of the maze");
+
+        grid.block(location.row(), location.column());
+    }
+
+    public void unblock(Maze.Location location) {
+        Maze.checkLocation(location, rows, columns);
+        grid.unblock(location.row(), location.column());
     }
 
     @Override
@@ -132,9 +164,35 @@ public class FixedMaze implements Maze<FixedMaze.Cell> {
         return Maze.manhattanDistance(from, goal);
     }
 
+    @Override
+    public int rows() {
+        return rows;
+    }
+
+    @Override
+    public int columns() {
+        return columns;
+    }
+
+    @Override
+    public boolean blocked(int row, int column) {
+        return grid.blocked(row, column);
+    }
+
     @Override
     public Cell cell(Location location) {
         Maze.checkLocation(location, rows, columns);
-        return grid[location.row()][location.column()];
+        return cell(location.row(), location.column());
+    }
+
+    private Cell cell(int row, int column) {
+        if (row == start.row() && column == start.column())
+            return Cell.START;
+        if (row == goal.row() && column == goal.column())
+            return Cell.GOAL;
+        if (grid.path(row, column))
+            return Cell.PATH;
+
+        return grid.blocked(row, column) ? Cell.BLOCKED : Cell.EMPTY;
     }
 }
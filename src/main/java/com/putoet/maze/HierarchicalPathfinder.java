@@ -0,0 +1,351 @@
+package com.putoet.maze;
+
+import com.putoet.search.GenericSearch;
+
+import java.util.*;
+
+// Hierarchical path finding (HPA*) on a 4-connected maze. The maze is divided into square clusters. Along every
+// border between two clusters, each run of cells open on both sides gets one transition (two for long runs),
+// and the distances between the transitions within a cluster are precomputed. A query connects start and goal
+// to the transitions of their clusters, searches the small abstract graph with A* and refines every abstract
+// step with a breadth first search inside one cluster. Paths are close to, but not always, the shortest.
+// After a cell changes, refresh(location) recomputes only the cluster of that cell and its neighbours.
+public class HierarchicalPathfinder {
+    private static final int LONG_ENTRANCE = 6;
+
+    private final Maze<?> maze;
+    private final int rows, columns;
+    private final int clusterSize;
+    private final int clusterRows, clusterColumns;
+
+    // transitions per border, index 2 * cluster for the east border, 2 * cluster + 1 for the south border
+    private final List<List<int[]>> borders;
+    private final Map<Integer, Set<Integer>> inter = new HashMap<>();
+    private final List<Map<Integer, Map<Integer, Integer>>> intra;
+
+    private final int[] localDistances;
+    private final int[] localQueue;
+    private final int[] buffer = new int[8];
+
+    public HierarchicalPathfinder(Maze<?> maze, int clusterSize) {
+        assert maze != null;
+        assert clusterSize > 1;
+
+        if ((long) maze.rows() * maze.columns() > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Maze has too many cells for hierarchical path finding");
+
+        this.maze = maze;
+        this.rows = maze.rows();
+        this.columns = maze.columns();
+        this.clusterSize = clusterSize;
+        this.clusterRows = (rows + clusterSize - 1) / clusterSize;
+        this.clusterColumns = (columns + clusterSize - 1) / clusterSize;
+        this.localDistances = new int[clusterSize * clusterSize];
+        this.localQueue = new int[clusterSize * clusterSize];
+
+        final int clusters = clusterRows * clusterColumns;
+        borders = new ArrayList<>(2 * clusters);
+        intra = new ArrayList<>(clusters);
+        for (int cluster = 0; cluster < clusters; cluster++) {
+            borders.add(new ArrayList<>());
+            borders.add(new ArrayList<>());
+            intra.add(new HashMap<>());
+        }
+
+        for (int cluster = 0; cluster < clusters; cluster++) {
+            computeBorder(cluster, true);
+            computeBorder(cluster, false);
+        }
+        for (int cluster = 0; cluster < clusters; cluster++) {
+            computeIntra(cluster);
+        }
+    }
+
+    public int clusterSize() {
+        return clusterSize;
+    }
+
+    public int transitions() {
+        return inter.size();
+    }
+
+    // Call after the cell at location was blocked or opened
+    public void refresh(Maze.Location location) {
+        Maze.checkLocation(location, rows, columns);
+
+        final int clusterRow = location.row() / clusterSize;
+        final int clusterColumn = location.column() / clusterSize;
+        final int cluster = clusterRow * clusterColumns + clusterColumn;
+
+        computeBorder(cluster, true);
+        computeBorder(cluster, false);
+        if (clusterColumn > 0)
+            computeBorder(cluster - 1, true);
+        if (clusterRow > 0)
+            computeBorder(cluster - clusterColumns, false);
+
+        computeIntra(cluster);
+        if (clusterColumn > 0)
+            computeIntra(cluster - 1);
+        if (clusterColumn + 1 < clusterColumns)
+            computeIntra(cluster + 1);
+        if (clusterRow > 0)
+            computeIntra(cluster - clusterColumns);
+        if (clusterRow + 1 < clusterRows)
+            computeIntra(cluster + clusterColumns);
+    }
+
+    public Optional<GenericSearch.Node<Maze.Location>> find(Maze.Location start, Maze.Location goal) {
+        assert start != null;
+        assert goal != null;
+
+        Maze.checkLocation(start, rows, columns);
+        Maze.checkLocation(goal, rows, columns);
+        if (maze.blocked(start.row(), start.column()) || maze.blocked(goal.row(), goal.column()))
+            return Optional.empty();
+
+        final int startIndex = maze.index(start);
+        final int goalIndex = maze.index(goal);
+        if (startIndex == goalIndex)
+            return Optional.of(new GenericSearch.Node<>(start, null));
+
+        final int startCluster = clusterOf(startIndex);
+        final int goalCluster = clusterOf(goalIndex);
+        if (startCluster == goalCluster) {
+            final List<Integer> local = localPath(startIndex, goalIndex, startCluster);
+            if (!local.isEmpty())
+                return Optional.of(GenericSearch.pathToNode(toLocations(local)));
+        }
+
+        final Map<Integer, Integer> startEdges = localEdges(startIndex, startCluster);
+        final Map<Integer, Integer> goalEdges = localEdges(goalIndex, goalCluster);
+        if (startEdges.isEmpty() || goalEdges.isEmpty())
+            return Optional.empty();
+
+        final Optional<GenericSearch.Node<Integer>> abstractPath = GenericSearch.astar(
+                startIndex,
+                index -> index == goalIndex,
+                index -> abstractSuccessors(index, startIndex, startEdges, goalIndex, goalEdges),
+                (from, to) -> abstractCost(from, to, startIndex, startEdges, goalIndex, goalEdges),
+                index -> Math.abs(index / columns - goal.row()) + Math.abs(index % columns - goal.column())
+        );
+
+        return abstractPath.map(node -> GenericSearch.pathToNode(toLocations(refine(node.path()))));
+    }
+
+    private List<Integer> abstractSuccessors(int index, int startIndex, Map<Integer, Integer> startEdges,
+                                             int goalIndex, Map<Integer, Integer> goalEdges) {
+        final List<Integer> successors = new ArrayList<>();
+        if (index == startIndex)
+            successors.addAll(startEdges.keySet());
+        successors.addAll(intra.get(clusterOf(index)).getOrDefault(index, Map.of()).keySet());
+        successors.addAll(inter.getOrDefault(index, Set.of()));
+        if (goalEdges.containsKey(index))
+            successors.add(goalIndex);
+
+        return successors;
+    }
+
+    private double abstractCost(int from, int to, int startIndex, Map<Integer, Integer> startEdges,
+                                int goalIndex, Map<Integer, Integer> goalEdges) {
+        double cost = Double.POSITIVE_INFINITY;
+        if (from == startIndex && startEdges.containsKey(to))
+            cost = startEdges.get(to);
+        if (to == goalIndex && goalEdges.containsKey(from))
+            cost = Math.min(cost, goalEdges.get(from));
+        if (inter.getOrDefault(from, Set.of()).contains(to))
+            cost = Math.min(cost, 1);
+
+        final Integer local = intra.get(clusterOf(from)).getOrDefault(from, Map.of()).get(to);
+        if (local != null)
+            cost = Math.min(cost, local);
+
+        return cost;
+    }
+
+    private List<Integer> refine(List<Integer> abstractPath) {
+        final List<Integer> path = new ArrayList<>();
+        path.add(abstractPath.get(0));
+
+        for (int idx = 1; idx < abstractPath.size(); idx++) {
+            final int from = abstractPath.get(idx - 1);
+            final int to = abstractPath.get(idx);
+            if (Math.abs(from / columns - to / columns) + Math.abs(from % columns - to % columns) == 1) {
+                path.add(to);
+            } else {
+                final List<Integer> local = localPath(from, to, clusterOf(from));
+                path.addAll(local.subList(1, local.size()));
+            }
+        }
+        return path;
+    }
+
+    private void computeBorder(int cluster, boolean east) {
+        final int clusterRow = cluster / clusterColumns;
+        final int clusterColumn = cluster % clusterColumns;
+        final List<int[]> transitions = borders.get(2 * cluster + (east ? 0 : 1));
+
+        for (int[] transition : transitions) {
+            disconnect(transition[0], transition[1]);
+            disconnect(transition[1], transition[0]);
+        }
+        transitions.clear();
+
+        if (east ? clusterColumn + 1 >= clusterColumns : clusterRow + 1 >= clusterRows)
+            return;
+
+        // walk along the border, the fixed coordinate is the last line of this cluster
+        final int fixed = (east ? clusterColumn + 1 : clusterRow + 1) * clusterSize - 1;
+        final int first = (east ? clusterRow : clusterColumn) * clusterSize;
+        final int last = Math.min(first + clusterSize, east ? rows : columns) - 1;
+
+        int runStart = -1;
+        for (int position = first; position <= last + 1; position++) {
+            final boolean open = position <= last && (east ?
+                    !maze.blocked(position, fixed) && !maze.blocked(position, fixed + 1) :
+                    !maze.blocked(fixed, position) && !maze.blocked(fixed + 1, position));
+
+            if (open && runStart < 0) {
+                runStart = position;
+            } else if (!open && runStart >= 0) {
+                final int runEnd = position - 1;
+                if (runEnd - runStart + 1 < LONG_ENTRANCE) {
+                    addTransition(transitions, east, fixed, (runStart + runEnd) / 2);
+                } else {
+                    addTransition(transitions, east, fixed, runStart);
+                    addTransition(transitions, east, fixed, runEnd);
+                }
+                runStart = -1;
+            }
+        }
+    }
+
+    private void addTransition(List<int[]> transitions, boolean east, int fixed, int position) {
+        final int from = east ? position * columns + fixed : fixed * columns + position;
+        final int to = east ? from + 1 : from + columns;
+
+        transitions.add(new int[]{from, to});
+        inter.computeIfAbsent(from, key -> new HashSet<>()).add(to);
+        inter.computeIfAbsent(to, key -> new HashSet<>()).add(from);
+    }
+
+    private void disconnect(int from, int to) {
+        final Set<Integer> neighbours = inter.get(from);
+        if (neighbours != null) {
+            neighbours.remove(to);
+            if (neighbours.isEmpty())
+                inter.remove(from);
+        }
+    }
+
+    private void computeIntra(int cluster) {
+        final Map<Integer, Map<Integer, Integer>> edges = intra.get(cluster);
+        edges.clear();
+
+        final Set<Integer> nodes = new HashSet<>();
+        for (int[] transition : clusterTransitions(cluster)) {
+            for (int index : transition) {
+                if (clusterOf(index) == cluster)
+                    nodes.add(index);
+            }
+        }
+
+        for (int node : nodes) {
+            final Map<Integer, Integer> distances = localEdges(node, cluster);
+            distances.keySet().retainAll(nodes);
+            distances.remove(node);
+            edges.put(node, distances);
+        }
+    }
+
+    private List<int[]> clusterTransitions(int cluster) {
+        final int clusterRow = cluster / clusterColumns;
+        final int clusterColumn = cluster % clusterColumns;
+
+        final List<int[]> transitions = new ArrayList<>(borders.get(2 * cluster));
+        transitions.addAll(borders.get(2 * cluster + 1));
+        if (clusterColumn > 0)
+            transitions.addAll(borders.get(2 * (cluster - 1)));
+        if (clusterRow > 0)
+            transitions.addAll(borders.get(2 * (cluster - clusterColumns) + 1));
+
+        return transitions;
+    }
+
+    // Distances from source to all transitions of the cluster reachable without leaving the cluster
+    private Map<Integer, Integer> localEdges(int source, int cluster) {
+        localSearch(source, cluster);
+
+        final Map<Integer, Integer> edges = new HashMap<>();
+        for (int[] transition : clusterTransitions(cluster)) {
+            for (int index : transition) {
+                if (clusterOf(index) == cluster) {
+                    final int distance = localDistances[localIndex(index, cluster)];
+                    if (distance >= 0)
+                        edges.put(index, distance);
+                }
+            }
+        }
+        return edges;
+    }
+
+    // Shortest path from source to target within the cluster, or an empty list if there is none
+    private List<Integer> localPath(int source, int target, int cluster) {
+        localSearch(target, cluster);
+
+        int distance = localDistances[localIndex(source, cluster)];
+        if (distance < 0)
+            return List.of();
+
+        final List<Integer> path = new ArrayList<>(distance + 1);
+        int current = source;
+        path.add(current);
+        while (distance > 0) {
+            final int count = maze.successors(current, buffer);
+            for (int idx = 0; idx < count; idx++) {
+                if (clusterOf(buffer[idx]) == cluster && localDistances[localIndex(buffer[idx], cluster)] == distance - 1) {
+                    current = buffer[idx];
+                    break;
+                }
+            }
+            distance--;
+            path.add(current);
+        }
+        return path;
+    }
+
+    // Breadth first search from source restricted to the cluster, filling localDistances (-1 is unreachable)
+    private void localSearch(int source, int cluster) {
+        Arrays.fill(localDistances, -1);
+
+        int head = 0, tail = 0;
+        localDistances[localIndex(source, cluster)] = 0;
+        localQueue[tail++] = source;
+        while (head < tail) {
+            final int current = localQueue[head++];
+            final int distance = localDistances[localIndex(current, cluster)];
+            final int count = maze.successors(current, buffer);
+            for (int idx = 0; idx < count; idx++) {
+                final int next = buffer[idx];
+                if (clusterOf(next) == cluster && localDistances[localIndex(next, cluster)] < 0) {
+                    localDistances[localIndex(next, cluster)] = distance + 1;
+                    localQueue[tail++] = next;
+                }
+            }
+        }
+    }
+
+    private int clusterOf(int index) {
+        return (index / columns / clusterSize) * clusterColumns + (index % columns) / clusterSize;
+    }
+
+    private int localIndex(int index, int cluster) {
+        final int row = index / columns - (cluster / clusterColumns) * clusterSize;
+        final int column = index % columns - (cluster % clusterColumns) * clusterSize;
+        return row * clusterSize + column;
+    }
+
+    private List<Maze.Location> toLocations(List<Integer> indices) {
+        return indices.stream().map(maze::location).toList();
+    }
+}
@@ -0,0 +1,157 @@
+package com.putoet.maze;
+
+import com.putoet.search.GenericSearch;
+import com.putoet.search.SearchListener;
+
+import java.util.*;
+
+// Jump point search for 4-connected grid mazes. Straight runs of cells without a forced neighbour are skipped
+// by jumping, so only cells where the path may need to turn (jump points) are added to the A* frontier. Moving
+// vertically, every cell is checked for a horizontal jump point, moving horizontally only cells where a side
+// opens up behind a wall are jump points. The path returned contains every cell from start to goal.
+public class JumpPointSearch {
+    private static final int[][] DIRECTIONS = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+
+    public static Optional<GenericSearch.Node<Maze.Location>> find(Maze<?> maze, Maze.Location start, Maze.Location goal) {
+        return find(maze, start, goal, SearchListener.NONE);
+    }
+
+    public static Optional<GenericSearch.Node<Maze.Location>> find(Maze<?> maze, Maze.Location start, Maze.Location goal,
+                                                                   SearchListener listener) {
+        assert maze != null;
+        assert start != null;
+        assert goal != null;
+        assert listener != null;
+
+        Maze.checkLocation(start, maze.rows(), maze.columns());
+        Maze.checkLocation(goal, maze.rows(), maze.columns());
+        if (!open(maze, start.row(), start.column()) || !open(maze, goal.row(), goal.column()))
+            return Optional.empty();
+
+        listener.started();
+        final Queue<GenericSearch.Node<Maze.Location>> frontier = new PriorityQueue<>();
+        frontier.offer(new GenericSearch.Node<>(start, null, 0.0, Maze.manhattanDistance(start, goal)));
+        listener.heuristicEvaluated();
+        listener.nodeGenerated();
+
+        final Map<Maze.Location, Double> explored = new HashMap<>();
+        explored.put(start, 0.0);
+
+        try {
+            while (!frontier.isEmpty()) {
+                final GenericSearch.Node<Maze.Location> currentNode = frontier.poll();
+                final Maze.Location current = currentNode.state;
+
+                if (currentNode.cost > explored.get(current)) {
+                    continue;
+                }
+                if (current.equals(goal)) {
+                    return Optional.of(GenericSearch.pathToNode(cells(currentNode.path())));
+                }
+
+                listener.nodeExpanded();
+                for (int[] direction : directions(currentNode)) {
+                    final Maze.Location jumpPoint = jump(maze, current, direction[0], direction[1], goal);
+                    if (jumpPoint == null) {
+                        continue;
+                    }
+
+                    final double newCost = currentNode.cost + Maze.manhattanDistance(current, jumpPoint);
+                    if (!explored.containsKey(jumpPoint) || explored.get(jumpPoint) > newCost) {
+                        explored.put(jumpPoint, newCost);
+                        frontier.offer(new GenericSearch.Node<>(jumpPoint, currentNode, newCost,
+                                Maze.manhattanDistance(jumpPoint, goal)));
+                        listener.heuristicEvaluated();
+                        listener.nodeGenerated();
+                    } else {
+                        listener.duplicateFound();
+                    }
+                }
+                listener.frontierSize(frontier.size());
+            }
+            return Optional.empty();
+        } finally {
+            listener.finished(explored.size());
+        }
+    }
+
+    // Arriving horizontally, continue horizontally or turn vertically, and vice versa. Going back is never needed.
+    private static int[][] directions(GenericSearch.Node<Maze.Location> node) {
+        if (node.parent == null)
+            return DIRECTIONS;
+
+        final int dr = Integer.signum(node.state.row() - node.parent.state.row());
+        final int dc = Integer.signum(node.state.column() - node.parent.state.column());
+        if (dc != 0)
+            return new int[][]{{0, dc}, {1, 0}, {-1, 0}};
+
+        return new int[][]{{dr, 0}, {0, 1}, {0, -1}};
+    }
+
+    private static Maze.Location jump(Maze<?> maze, Maze.Location from, int dr, int dc, Maze.Location goal) {
+        int row = from.row() + dr;
+        int column = from.column() + dc;
+
+        while (open(maze, row, column)) {
+            if (row == goal.row() && column == goal.column())
+                return Maze.Location.of(row, column);
+
+            if (dc != 0) {
+                if (horizontalForced(maze, row, column, dc))
+                    return Maze.Location.of(row, column);
+            } else {
+                if ((open(maze, row, column - 1) && !open(maze, row - dr, column - 1)) ||
+                        (open(maze, row, column + 1) && !open(maze, row - dr, column + 1)))
+                    return Maze.Location.of(row, column);
+
+                if (scan(maze, row, column, 1, goal) || scan(maze, row, column, -1, goal))
+                    return Maze.Location.of(row, column);
+            }
+
+            row += dr;
+            column += dc;
+        }
+        return null;
+    }
+
+    // Does a horizontal jump from (row, column) in direction dc find a jump point?
+    private static boolean scan(Maze<?> maze, int row, int column, int dc, Maze.Location goal) {
+        for (column += dc; open(maze, row, column); column += dc) {
+            if (row == goal.row() && column == goal.column())
+                return true;
+            if (horizontalForced(maze, row, column, dc))
+                return true;
+        }
+        return false;
+    }
+
+    private static boolean horizontalForced(Maze<?> maze, int row, int column, int dc) {
+        return (open(maze, row - 1, column) && !open(maze, row - 1, column - dc)) ||
+                (open(maze, row + 1, column) && !open(maze, row + 1, column - dc));
+    }
+
+    private static boolean open(Maze<?> maze, int row, int column) {
+        return row >= 0 && row < maze.rows() && column >= 0 && column < maze.columns() && !maze.blocked(row, column);
+    }
+
+    private static List<Maze.Location> cells(List<Maze.Location> jumpPoints) {
+        final List<Maze.Location> cells = new ArrayList<>();
+        cells.add(jumpPoints.get(0));
+
+        for (int idx = 1; idx < jumpPoints.size(); idx++) {
+            final Maze.Location from = jumpPoints.get(idx - 1);
+            final Maze.Location to = jumpPoints.get(idx);
+            final int dr = Integer.signum(to.row() - from.row());
+            final int dc = Integer.signum(to.column() - from.column());
+
+            int row = from.row();
+            int column = from.column();
+            while (row != to.row() || column != to.column()) {
+                row += dr;
+                column += dc;
+                cells.add(Maze.Location.of(row, column));
+            }
+        }
+        return cells;
+    }
+}
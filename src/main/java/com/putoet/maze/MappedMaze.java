@@ -0,0 +1,200 @@
+package com.putoet.maze;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+// Read-only maze on a memory mapped file, in the same format as FixedMaze. Cells are read straight from the
+// mapped file, so neither strings nor a grid are kept on the heap. Files larger than a single mapping are mapped
+// in segments of whole rows. All rows must have the same length and use the same line separator, which is
+// verified from the file size and the line separator at the end of every row.
+public class MappedMaze implements Maze<FixedMaze.Cell> {
+    private static final long MAX_SEGMENT_SIZE = Integer.MAX_VALUE;
+
+    private final int rows, columns;
+    private final int stride;
+    private final int rowsPerSegment;
+    private final MappedByteBuffer[] segments;
+    private final Location start, goal;
+
+    // scans the whole file once for the first start and goal symbols
+    public MappedMaze(Path path) throws IOException {
+        this(path, null, null, MAX_SEGMENT_SIZE);
+    }
+
+    public MappedMaze(Path path, Location start, Location goal) throws IOException {
+        this(path, start, goal, MAX_SEGMENT_SIZE);
+    }
+
+    MappedMaze(Path path, Location start, Location goal, long maxSegmentSize) throws IOException {
+        assert path != null;
+        assert (start == null) == (goal == null);
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size == 0)
+                throw new IllegalArgumentException("Maze file " + path + " is empty");
+
+            final MappedByteBuffer first = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(size, maxSegmentSize));
+            int length = 0;
+            while (length < first.limit() && first.get(length) != '\n')
+                length++;
+
+            final int separator = length == first.limit() ? 0 : (length > 0 && first.get(length - 1) == '\r' ? 2 : 1);
+            this.columns = length - (separator == 2 ? 1 : 0);
+            this.stride = columns + separator;
+            if (columns == 0 || (separator == 0 && size > first.limit()))
+                throw new IllegalArgumentException("Invalid row length in maze file " + path);
+
+            final long rowCount;
+            if (size % stride == 0)
+                rowCount = size / stride;
+            else if ((size + separator) % stride == 0)
+                rowCount = (size + separator) / stride;
+            else
+                throw new IllegalArgumentException("Rows have variable lengths, which is not allowed");
+            if (rowCount > Integer.MAX_VALUE)
+                throw new IllegalArgumentException("Maze file " + path + " has too many rows");
+
+            if (maxSegmentSize / stride == 0)
+                throw new IllegalArgumentException("Rows of maze file " + path + " are longer than a segment");
+
+            this.rows = (int) rowCount;
+            this.rowsPerSegment = (int) Math.min(rows, maxSegmentSize / stride);
+            this.segments = new MappedByteBuffer[(rows + rowsPerSegment - 1) / rowsPerSegment];
+            for (int idx = 0; idx < segments.length; idx++) {
+                final long offset = (long) idx * rowsPerSegment * stride;
+                segments[idx] = channel.map(FileChannel.MapMode.READ_ONLY, offset,
+                        Math.min((long) rowsPerSegment * stride, size - offset));
+            }
+            checkRowEnds(separator);
+        }
+
+        if (start == null) {
+            this.start = locate(cell -> cell == FixedMaze.Cell.START)
+                    .orElseThrow(() -> new IllegalArgumentException("No start symbol on this maze"));
+            this.goal = locate(cell -> cell == FixedMaze.Cell.GOAL)
+                    .orElseThrow(() -> new IllegalArgumentException("No goal symbol on this maze"));
+        } else {
+            Maze.checkLocation(start, rows, columns);
+            Maze.checkLocation(goal, rows, columns);
+            this.start = start;
+            this.goal = goal;
+        }
+    }
+
+    public Location start() {
+        return start;
+    }
+
+    public Location goal() {
+        return goal;
+    }
+
+    @Override
+    public Optional<Location> locate(Predicate<FixedMaze.Cell> filter) {
+        for (int row = 0; row < rows; row++)
+            for (int column = 0; column < columns; column++)
+                if (filter.test(FixedMaze.Cell.of(read(row, column))))
+                    return Optional.of(Location.of(row, column));
+
+        return Optional.empty();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                sb.append(FixedMaze.Cell.of(read(row, column)).toString());
+            }
+            sb.append(System.lineSeparator());
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public boolean goalTest(Location ml) {
+        assert ml != null;
+
+        return goal.equals(ml);
+    }
+
+    @Override
+    public List<Location> successors(Location ml) {
+        assert ml != null;
+
+        final List<Location> locations = new ArrayList<>();
+        if (ml.row() + 1 < rows && !blocked(ml.row() + 1, ml.column())) {
+            locations.add(new Location(ml.row() + 1, ml.column()));
+        }
+        if (ml.row() - 1 >= 0 && !blocked(ml.row() - 1, ml.column())) {
+            locations.add(new Location(ml.row() - 1, ml.column()));
+        }
+        if (ml.column() + 1 < columns && !blocked(ml.row(), ml.column() + 1)) {
+            locations.add(new Location(ml.row(), ml.column() + 1));
+        }
+        if (ml.column() - 1 >= 0 && !blocked(ml.row(), ml.column() - 1)) {
+            locations.add(new Location(ml.row(), ml.column() - 1));
+        }
+        return locations;
+    }
+
+    @Override
+    public double euclideanDistance(Location from) {
+        return Maze.euclideanDistance(from, goal);
+    }
+
+    @Override
+    public double manhattanDistance(Location from) {
+        return Maze.manhattanDistance(from, goal);
+    }
+
+    @Override
+    public int rows() {
+        return rows;
+    }
+
+    @Override
+    public int columns() {
+        return columns;
+    }
+
+    @Override
+    public boolean blocked(int row, int column) {
+        return read(row, column) == '#';
+    }
+
+    @Override
+    public FixedMaze.Cell cell(Location location) {
+        Maze.checkLocation(location, rows, columns);
+        return FixedMaze.Cell.of(read(location.row(), location.column()));
+    }
+
+    // every row must end in the line separator right after its last column, except a last row without one
+    private void checkRowEnds(int separator) {
+        if (separator == 0)
+            return;
+
+        for (int row = 0; row < rows; row++) {
+            final MappedByteBuffer segment = segments[row / rowsPerSegment];
+            final int end = (row % rowsPerSegment) * stride + columns;
+            if (row == rows - 1 && end == segment.limit())
+                continue;
+
+            if (end + separator > segment.limit() || (separator == 2 && segment.get(end) != '\r')
+                    || segment.get(end + separator - 1) != '\n')
+                throw new IllegalArgumentException("Rows have variable lengths, which is not allowed");
+        }
+    }
+
+    private byte read(int row, int column) {
+        return segments[row / rowsPerSegment].get((row % rowsPerSegment) * stride + column);
+    }
+}
@@ -16,6 +16,8 @@
 
 package com.putoet.maze;
 
+import com.putoet.search.LongSearch;
+
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Predicate;
@@ -39,6 +41,14 @@ public interface Maze<T> {
 
             return new Location(row, column);
         }
+
+        public long encode() {
+            return ((long) row << 32) | column;
+        }
+
+        public static Location decode(long code) {
+            return new Location((int) (code >>> 32), (int) code);
+        }
     }
 
     default boolean goalTest(Location location) {
@@ -57,6 +67,71 @@ public interface Maze<T> {
         throw new IllegalArgumentException("Default manhattanDistance must not be used");
     }
 
+    default double octileDistance(Location from) {
+        throw new IllegalArgumentException("Default octileDistance must not be used");
+    }
+
+    default int rows() {
+        throw new IllegalArgumentException("Default rows must not be used");
+    }
+
+    default int columns() {
+        throw new IllegalArgumentException("Default columns must not be used");
+    }
+
+    default boolean blocked(int row, int column) {
+        throw new IllegalArgumentException("Default blocked must not be used");
+    }
+
+    // Cells can also be addressed by index, row * columns + column, which is what the allocation free
+    // successors use (so for mazes of less than 2^31 cells). The buffer must hold at least eight indices, room
+    // for mazes with diagonal moves, the number of successors is returned.
+    default int index(Location location) {
+        assert location != null;
+
+        return location.row * columns() + location.column;
+    }
+
+    default Location location(int index) {
+        assert index >= 0;
+
+        return Location.of(index / columns(), index % columns());
+    }
+
+    default int successors(int index, int[] buffer) {
+        assert buffer != null && buffer.length >= 8;
+
+        final int columns = columns();
+        final int row = index / columns;
+        final int column = index % columns;
+
+        int count = 0;
+        if (row + 1 < rows() && !blocked(row + 1, column)) {
+            buffer[count++] = index + columns;
+        }
+        if (row - 1 >= 0 && !blocked(row - 1, column)) {
+            buffer[count++] = index - columns;
+        }
+        if (column + 1 < columns && !blocked(row, column + 1)) {
+            buffer[count++] = index + 1;
+        }
+        if (column - 1 >= 0 && !blocked(row, column - 1)) {
+            buffer[count++] = index - 1;
+        }
+        return count;
+    }
+
+    // Successors for a LongSearch on cell indices, reusing a single buffer
+    default LongSearch.Successors indexSuccessors() {
+        final int[] buffer = new int[8];
+        return (state, sink) -> {
+            final int count = successors((int) state, buffer);
+            for (int idx = 0; idx < count; idx++) {
+                sink.accept(buffer[idx]);
+            }
+        };
+    }
+
     T cell(Location location);
 
     Optional<Location> locate(Predicate<T> predicate);
@@ -88,6 +163,16 @@ public interface Maze<T> {
         return (xdist + ydist);
     }
 
+    // Distance when diagonal moves cost sqrt(2), the exact distance on an open 8-connected grid
+    static double octileDistance(Location from, Location to) {
+        assert from != null;
+        assert to != null;
+
+        int xdist = Math.abs(from.column - to.column);
+        int ydist = Math.abs(from.row - to.row);
+        return Math.max(xdist, ydist) + (Math.sqrt(2.0) - 1.0) * Math.min(xdist, ydist);
+    }
+
     static void checkLocation(Location location, int maxRow, int maxColumn) {
         if (location.row < 0 || location.row >= maxRow || location.column < 0 || location.column >= maxColumn)
             throw new IllegalArgumentException(
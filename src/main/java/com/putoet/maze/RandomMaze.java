@@ -18,6 +18,7 @@ package com.putoet.maze;
 
 import java.util.*;
 import java.util.function.Predicate;
+import java.util.stream.IntStream;
 
 public class RandomMaze implements Maze<RandomMaze.Cell> {
     public enum Cell {
@@ -35,11 +36,23 @@ public class RandomMaze implements Maze<RandomMaze.Cell> {
         }
     }
 
+    // rows of a band are filled with their own generator, bands are the unit of parallel work
+    private static final int BAND_CELLS = 1 << 16;
+
     private final int rows, columns;
     private final Location start, goal;
-    private final Cell[][] grid;
+    private final BitGrid grid;
 
     public RandomMaze(int rows, int columns, Location start, Location goal, double sparseness) {
+        this(rows, columns, start, goal, sparseness, new SplittableRandom(), false, false);
+    }
+
+    public RandomMaze() {
+        this(10, 10, new Location(0, 0), new Location(9, 9), 0.2);
+    }
+
+    private RandomMaze(int rows, int columns, Location start, Location goal, double sparseness,
+                       SplittableRandom random, boolean parallel, boolean solvable) {
         assert rows > 0;
         assert columns > 0;
         assert start != null;
@@ -50,42 +63,134 @@ public class RandomMaze implements Maze<RandomMaze.Cell> {
         this.start = start;
         this.goal = goal;
 
-        grid = new Cell[rows][columns];
-        for (Cell[] row : grid) {
-            Arrays.fill(row, Cell.EMPTY);
+        grid = new BitGrid(rows, columns);
+        randomlyFill(sparseness, random, parallel);
+        if (solvable)
+            carve(random);
+
+        grid.unblock(start.row(), start.column());
+        grid.unblock(goal.row(), goal.column());
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    // Builds mazes that are reproducible from their seed. The outcome for a seed does not depend on parallel
+    // filling, as every band of rows draws from its own generator split off in band order.
+    public static class Builder {
+        private int rows = 10, columns = 10;
+        private Location start, goal;
+        private double sparseness = 0.2;
+        private Long seed;
+        private boolean parallel;
+        private boolean solvable;
+
+        private Builder() {
+        }
+
+        public Builder rows(int rows) {
+            this.rows = rows;
+            return this;
+        }
+
+        public Builder columns(int columns) {
+            this.columns = columns;
+            return this;
+        }
+
+        public Builder start(Location start) {
+            this.start = start;
+            return this;
+        }
+
+        public Builder goal(Location goal) {
+            this.goal = goal;
+            return this;
+        }
+
+        public Builder sparseness(double sparseness) {
+            this.sparseness = sparseness;
+            return this;
+        }
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public Builder parallel(boolean parallel) {
+            this.parallel = parallel;
+            return this;
+        }
+
+        // carve an open path from start to goal after filling
+        public Builder solvable(boolean solvable) {
+            this.solvable = solvable;
+            return this;
         }
 
-        randomlyFill(sparseness);
+        public RandomMaze build() {
+            assert rows > 0;
+            assert columns > 0;
+            assert sparseness >= 0.0 && sparseness <= 1.0;
+
+            final Location from = start != null ? start : Location.of(0, 0);
+            final Location to = goal != null ? goal : Location.of(rows - 1, columns - 1);
+            Maze.checkLocation(from, rows, columns);
+            Maze.checkLocation(to, rows, columns);
 
-        grid[start.row()][start.column()] = Cell.START;
-        grid[goal.row()][goal.column()] = Cell.GOAL;
+            final SplittableRandom random = seed != null ? new SplittableRandom(seed) : new SplittableRandom();
+            return new RandomMaze(rows, columns, from, to, sparseness, random, parallel, solvable);
+        }
     }
 
-    public RandomMaze() {
-        this(10, 10, new Location(0, 0), new Location(9, 9), 0.2);
+    private void randomlyFill(double sparseness, SplittableRandom random, boolean parallel) {
+        final int aligned = grid.alignedRows();
+        final int bandRows = (int) Math.min(rows,
+                Math.max(1, (BAND_CELLS / columns + aligned - 1) / aligned) * (long) aligned);
+        final int bands = (rows + bandRows - 1) / bandRows;
+
+        final SplittableRandom[] randoms = new SplittableRandom[bands];
+        for (int band = 0; band < bands; band++)
+            randoms[band] = random.split();
+
+        final IntStream stream = parallel ? IntStream.range(0, bands).parallel() : IntStream.range(0, bands);
+        stream.forEach(band -> grid.randomlyBlock(band * bandRows, Math.min(rows, (band + 1) * bandRows),
+                sparseness, randoms[band]));
     }
 
-    private void randomlyFill(double sparseness) {
-        for (int row = 0; row < rows; row++) {
-            for (int column = 0; column < columns; column++) {
-                if (Math.random() < sparseness) {
-                    grid[row][column] = Cell.BLOCKED;
-                }
-            }
+    // opens a random monotone path from start to goal, each step moves a row or a column closer to the goal
+    private void carve(SplittableRandom random) {
+        int row = start.row(), column = start.column();
+        grid.unblock(row, column);
+        while (row != goal.row() || column != goal.column()) {
+            final int rowsLeft = Math.abs(goal.row() - row);
+            final int columnsLeft = Math.abs(goal.column() - column);
+            if (random.nextInt(rowsLeft + columnsLeft) < rowsLeft)
+                row += Integer.signum(goal.row() - row);
+            else
+                column += Integer.signum(goal.column() - column);
+            grid.unblock(row, column);
         }
     }
 
     @Override
     public Optional<Location> locate(Predicate<Cell> filter) {
-        return locate(grid, filter);
+        for (int row = 0; row < rows; row++)
+            for (int column = 0; column < columns; column++)
+                if (filter.test(cell(row, column)))
+                    return Optional.of(Location.of(row, column));
+
+        return Optional.empty();
     }
 
     @Override
     public String toString() {
         final StringBuilder sb = new StringBuilder();
-        for (Cell[] row : grid) {
-            for (Cell cell : row) {
-                sb.append(cell.toString());
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                sb.append(cell(row, column).toString());
             }
             sb.append(System.lineSeparator());
         }
@@ -104,39 +209,56 @@ public class RandomMaze implements Maze<RandomMaze.Cell> {
         assert ml != null;
 
         final List<Location> locations = new ArrayList<>();
-        if (ml.row() + 1 < rows && grid[ml.row() + 1][ml.column()] != Cell.BLOCKED) {
+        if (ml.row() + 1 < rows && !grid.blocked(ml.row() + 1, ml.column())) {
             locations.add(new Location(ml.row() + 1, ml.column()));
         }
-        if (ml.row() - 1 >= 0 && grid[ml.row() - 1][ml.column()] != Cell.BLOCKED) {
+        if (ml.row() - 1 >= 0 && !grid.blocked(ml.row() - 1, ml.column())) {
             locations.add(new Location(ml.row() - 1, ml.column()));
         }
-        if (ml.column() + 1 < columns && grid[ml.row()][ml.column() + 1] != Cell.BLOCKED) {
+        if (ml.column() + 1 < columns && !grid.blocked(ml.row(), ml.column() + 1)) {
             locations.add(new Location(ml.row(), ml.column() + 1));
         }
-        if (ml.column() - 1 >= 0 && grid[ml.row()][ml.column() - 1] != Cell.BLOCKED) {
+        if (ml.column() - 1 >= 0 && !grid.blocked(ml.row(), ml.column() - 1)) {
             locations.add(new Location(ml.row(), ml.column() - 1));
         }
         return locations;
     }
 
+    @Override
+    public int successors(int index, int[] buffer) {
+        assert buffer != null && buffer.length >= 8;
+        assert index >= 0 && index < rows * columns;
+
+        return grid.successors(index, buffer);
+    }
+
     public void mark(List<Location> path) {
         assert path != null;
 
         for (Location ml : path) {
-            grid[ml.row()][ml.column()] = Cell.PATH;
+            grid.mark(ml.row(), ml.column());
         }
-        grid[start.row()][start.column()] = Cell.START;
-        grid[goal.row()][goal.column()] = Cell.GOAL;
     }
 
     public void clear(List<Location> path) {
         assert path != null;
 
         for (Location ml : path) {
-            grid[ml.row()][ml.column()] = Cell.EMPTY;
+            grid.clear(ml.row(), ml.column());
         }
-        grid[start.row()][start.column()] = Cell.START;
-        grid[goal.row()][goal.column()] = Cell.GOAL;
+    }
+
+    public void block(Location location) {
+        Maze.checkLocation(location, rows, columns);
+        if (location.equals(start) || location.equals(goal))
+            throw new IllegalArgumentException("Cannot block the start or goal of the maze");
+
+        grid.block(location.row(), location.column());
+    }
+
+    public void unblock(Location location) {
+        Maze.checkLocation(location, rows, columns);
+        grid.unblock(location.row(), location.column());
     }
 
     @Override
@@ -149,9 +271,35 @@ public class RandomMaze implements Maze<RandomMaze.Cell> {
         return Maze.manhattanDistance(from, goal);
     }
 
+    @Override
+    public int rows() {
+        return rows;
+    }
+
+    @Override
+    public int columns() {
+        return columns;
+    }
+
+    @Override
+    public boolean blocked(int row, int column) {
+        return grid.blocked(row, column);
+    }
+
     @Override
     public Cell cell(Location location) {
         Maze.checkLocation(location, rows, columns);
-        return grid[location.row()][location.column()];
+        return cell(location.row(), location.column());
+    }
+
+    private Cell cell(int row, int column) {
+        if (row == start.row() && column == start.column())
+            return Cell.START;
+        if (row == goal.row() && column == goal.column())
+            return Cell.GOAL;
+        if (grid.path(row, column))
+            return Cell.PATH;
+
+        return grid.blocked(row, column) ? Cell.BLOCKED : Cell.EMPTY;
     }
 }
\ No newline at end of file
@@ -0,0 +1,250 @@
+package com.putoet.maze;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+// Maze with a traversal cost per cell, optionally with diagonal moves. Cells are '.' (cost 1), a digit '1' to '9'
+// for its cost, '#' for blocked, or 'S' and 'G' for start and goal (cost 1). Entering a cell costs its cost, times
+// sqrt(2) for a diagonal move. Diagonal moves never cut the corner of a blocked cell. The cell value is the cost,
+// BLOCKED for blocked cells. Use cost as the step cost of GenericSearch.astar with heuristic as the heuristic.
+public class WeightedMaze implements Maze<Integer> {
+    public static final int BLOCKED = -1;
+
+    private static final double DIAGONAL = Math.sqrt(2.0);
+
+    private final int rows, columns;
+    private final byte[] costs;
+    private final boolean diagonal;
+    private final Maze.Location start, goal;
+
+    public WeightedMaze(List<String> maze) {
+        this(maze, false);
+    }
+
+    public WeightedMaze(List<String> maze, boolean diagonal) {
+        assert maze != null;
+        assert !maze.isEmpty();
+
+        this.rows = maze.size();
+        this.columns = maze.get(0).length();
+        this.diagonal = diagonal;
+        this.costs = new byte[rows * columns];
+
+        Maze.Location start = null, goal = null;
+        for (int row = 0; row < rows; row++) {
+            final String line = maze.get(row);
+            if (line.length() != columns)
+                throw new IllegalArgumentException("Rows have variable lengths, which is not allowed");
+
+            for (int column = 0; column < columns; column++) {
+                final char symbol = line.charAt(column);
+                final int cost = switch (symbol) {
+                    case '.' -> 1;
+                    case '#' -> BLOCKED;
+                    case 'S' -> {
+                        start = start == null ? Maze.Location.of(row, column) : start;
+                        yield 1;
+                    }
+                    case 'G' -> {
+                        goal = goal == null ? Maze.Location.of(row, column) : goal;
+                        yield 1;
+                    }
+                    default -> {
+                        if (symbol < '1' || symbol > '9')
+                            throw new IllegalArgumentException("Invalid maze character '" + symbol + "'");
+                        yield symbol - '0';
+                    }
+                };
+                costs[row * columns + column] = (byte) cost;
+            }
+        }
+
+        if (start == null)
+            throw new IllegalArgumentException("No start symbol on this maze");
+        if (goal == null)
+            throw new IllegalArgumentException("No goal symbol on this maze");
+
+        this.start = start;
+        this.goal = goal;
+    }
+
+    public Maze.Location start() {
+        return start;
+    }
+
+    public Maze.Location goal() {
+        return goal;
+    }
+
+    public boolean diagonal() {
+        return diagonal;
+    }
+
+    @Override
+    public Optional<Location> locate(Predicate<Integer> filter) {
+        for (int row = 0; row < rows; row++)
+            for (int column = 0; column < columns; column++)
+                if (filter.test((int) costs[row * columns + column]))
+                    return Optional.of(Location.of(row, column));
+
+        return Optional.empty();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                final int cost = costs[row * columns + column];
+                if (row == start.row() && column == start.column())
+                    sb.append('S');
+                else if (row == goal.row() && column == goal.column())
+                    sb.append('G');
+                else
+                    sb.append(cost == BLOCKED ? '#' : cost == 1 ? '.' : (char) ('0' + cost));
+            }
+            sb.append(System.lineSeparator());
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public boolean goalTest(Maze.Location ml) {
+        assert ml != null;
+
+        return goal.equals(ml);
+    }
+
+    // the orthogonal neighbours first (down, up, right, left), followed by the diagonal ones when enabled
+    @Override
+    public List<Maze.Location> successors(Maze.Location ml) {
+        assert ml != null;
+
+        final int row = ml.row(), column = ml.column();
+        final List<Maze.Location> locations = new ArrayList<>(diagonal ? 8 : 4);
+        final boolean down = open(row + 1, column);
+        final boolean up = open(row - 1, column);
+        final boolean right = open(row, column + 1);
+        final boolean left = open(row, column - 1);
+        if (down)
+            locations.add(new Maze.Location(row + 1, column));
+        if (up)
+            locations.add(new Maze.Location(row - 1, column));
+        if (right)
+            locations.add(new Maze.Location(row, column + 1));
+        if (left)
+            locations.add(new Maze.Location(row, column - 1));
+
+        if (diagonal) {
+            if (down && right && open(row + 1, column + 1))
+                locations.add(new Maze.Location(row + 1, column + 1));
+            if (down && left && open(row + 1, column - 1))
+                locations.add(new Maze.Location(row + 1, column - 1));
+            if (up && right && open(row - 1, column + 1))
+                locations.add(new Maze.Location(row - 1, column + 1));
+            if (up && left && open(row - 1, column - 1))
+                locations.add(new Maze.Location(row - 1, column - 1));
+        }
+        return locations;
+    }
+
+    // the same moves in the same order as successors(Location), up to eight with diagonal moves
+    @Override
+    public int successors(int index, int[] buffer) {
+        assert buffer != null && buffer.length >= 8;
+        assert index >= 0 && index < rows * columns;
+
+        final int row = index / columns;
+        final int column = index - row * columns;
+        final boolean down = open(row + 1, column);
+        final boolean up = open(row - 1, column);
+        final boolean right = open(row, column + 1);
+        final boolean left = open(row, column - 1);
+
+        int count = 0;
+        if (down)
+            buffer[count++] = index + columns;
+        if (up)
+            buffer[count++] = index - columns;
+        if (right)
+            buffer[count++] = index + 1;
+        if (left)
+            buffer[count++] = index - 1;
+
+        if (diagonal) {
+            if (down && right && open(row + 1, column + 1))
+                buffer[count++] = index + columns + 1;
+            if (down && left && open(row + 1, column - 1))
+                buffer[count++] = index + columns - 1;
+            if (up && right && open(row - 1, column + 1))
+                buffer[count++] = index - columns + 1;
+            if (up && left && open(row - 1, column - 1))
+                buffer[count++] = index - columns - 1;
+        }
+        return count;
+    }
+
+    // Cost of a single move between neighbouring cells, the cost of the entered cell
+    public double cost(Maze.Location from, Maze.Location to) {
+        assert from != null;
+        assert to != null;
+
+        final int rowStep = Math.abs(from.row() - to.row());
+        final int columnStep = Math.abs(from.column() - to.column());
+        if (rowStep > 1 || columnStep > 1 || rowStep + columnStep == 0 || (!diagonal && rowStep + columnStep == 2))
+            throw new IllegalArgumentException("No move from " + from + " to " + to);
+        if (!open(to.row(), to.column()))
+            throw new IllegalArgumentException("Location " + to + " is blocked");
+
+        final int cost = costs[to.row() * columns + to.column()];
+        return rowStep + columnStep == 2 ? cost * DIAGONAL : cost;
+    }
+
+    // Admissible heuristic for the move set of this maze, octile distance with diagonal moves and manhattan
+    // distance without. Every cell costs at least 1, so the unit distances never overestimate.
+    public double heuristic(Maze.Location from) {
+        return diagonal ? octileDistance(from) : manhattanDistance(from);
+    }
+
+    @Override
+    public double euclideanDistance(Maze.Location from) {
+        return Maze.euclideanDistance(from, goal);
+    }
+
+    @Override
+    public double manhattanDistance(Maze.Location from) {
+        return Maze.manhattanDistance(from, goal);
+    }
+
+    @Override
+    public double octileDistance(Maze.Location from) {
+        return Maze.octileDistance(from, goal);
+    }
+
+    @Override
+    public int rows() {
+        return rows;
+    }
+
+    @Override
+    public int columns() {
+        return columns;
+    }
+
+    @Override
+    public boolean blocked(int row, int column) {
+        return costs[row * columns + column] == BLOCKED;
+    }
+
+    @Override
+    public Integer cell(Location location) {
+        Maze.checkLocation(location, rows, columns);
+        return (int) costs[location.row() * columns + location.column()];
+    }
+
+    private boolean open(int row, int column) {
+        return row >= 0 && row < rows && column >= 0 && column < columns && costs[row * columns + column] != BLOCKED;
+    }
+}
@@ -16,10 +16,18 @@
 
 package com.putoet.search;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
+import java.util.function.IntFunction;
 import java.util.function.Predicate;
+import java.util.function.ToDoubleBiFunction;
 import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class GenericSearch {
 
@@ -60,6 +68,7 @@ public class GenericSearch {
         public final Node<T> parent;
         public final double cost;
         public final double heuristic;
+        public final int depth;
 
         public Node(T state, Node<T> parent) {
             this(state, parent, 0.0, 0.0);
@@ -72,6 +81,7 @@ public class GenericSearch {
             this.parent = parent;
             this.cost = cost;
             this.heuristic = heuristic;
+            this.depth = parent == null ? 0 : parent.depth + 1;
         }
 
         @Override
@@ -82,54 +92,135 @@ public class GenericSearch {
         }
 
         public List<T> path() {
-            final List<T> path = new ArrayList<>();
-            Node<T> node = this;
+            final List<T> path = new ArrayList<>(depth + 1);
+            for (T state : reversedPath()) {
+                path.add(state);
+            }
+            Collections.reverse(path);
+            return path;
+        }
+
+        // The states from this node back to the initial state, walking the parent chain without copying
+        public Iterable<T> reversedPath() {
+            return () -> new Iterator<>() {
+                private Node<T> next = Node.this;
 
-            path.add(node.state);
-            while (node.parent != null) {
-                node = node.parent;
-                path.add(0, node.state); // add to front
+                @Override
+                public boolean hasNext() {
+                    return next != null;
+                }
+
+                @Override
+                public T next() {
+                    if (next == null)
+                        throw new NoSuchElementException("Initial state already passed");
+
+                    final T state = next.state;
+                    next = next.parent;
+                    return state;
+                }
+            };
+        }
+
+        public T[] pathArray(IntFunction<T[]> generator) {
+            assert generator != null;
+
+            final T[] path = generator.apply(depth + 1);
+            for (Node<T> node = this; node != null; node = node.parent) {
+                path[node.depth] = node.state;
             }
             return path;
         }
 
-        public int steps() {
-            int steps = 0;
-            for (Node<T> node = this; node.parent != null; node = node.parent) {
-                steps++;
+        public long[] pathAsLongs(ToLongFunction<? super T> encoder) {
+            assert encoder != null;
+
+            final long[] path = new long[depth + 1];
+            for (Node<T> node = this; node != null; node = node.parent) {
+                path[node.depth] = encoder.applyAsLong(node.state);
             }
-            return steps;
+            return path;
+        }
+
+        public int steps() {
+            return depth;
+        }
+    }
+
+    // Limits for the budgeted searches, the timeout is measured from the start of the search
+    public record Budget(long timeoutNanos, long maxExpansions) {
+        public Budget {
+            assert timeoutNanos >= 0;
+            assert maxExpansions >= 0;
+        }
+
+        public static Budget of(Duration timeout, long maxExpansions) {
+            assert timeout != null;
+
+            return new Budget(timeout.toNanos(), maxExpansions);
+        }
+
+        public static Budget timeout(Duration timeout) {
+            return of(timeout, Long.MAX_VALUE);
+        }
+
+        public static Budget expansions(long maxExpansions) {
+            return new Budget(Long.MAX_VALUE, maxExpansions);
+        }
+
+        boolean exhausted(long startNanos, long expansions) {
+            return expansions >= maxExpansions || System.nanoTime() - startNanos >= timeoutNanos;
         }
     }
 
+    // The goal node if one was found, otherwise the node closest to a goal according to the heuristic. Complete
+    // is false when the budget ran out before the search finished.
+    public record BudgetedResult<T>(Node<T> node, boolean goal, boolean complete) {}
+
     public static <T> Optional<Node<T>> dfs(T initial, Predicate<T> goalTest, Function<T, List<T>> successors) {
+        return dfs(initial, goalTest, successors, SearchListener.NONE);
+    }
+
+    public static <T> Optional<Node<T>> dfs(T initial, Predicate<T> goalTest, Function<T, List<T>> successors,
+                                            SearchListener listener) {
         assert initial != null;
         assert goalTest != null;
         assert successors != null;
+        assert listener != null;
 
+        listener.started();
         final Stack<Node<T>> frontier = new Stack<>();
         frontier.push(new Node<>(initial, null));
+        listener.nodeGenerated();
 
         final Set<T> explored = new HashSet<>();
         explored.add(initial);
 
-        while (!frontier.isEmpty()) {
-            final Node<T> currentNode = frontier.pop();
-            final T currentState = currentNode.state;
+        try {
+            while (!frontier.isEmpty()) {
+                final Node<T> currentNode = frontier.pop();
+                final T currentState = currentNode.state;
 
-            if (goalTest.test(currentState)) {
-                return Optional.of(currentNode);
-            }
+                if (goalTest.test(currentState)) {
+                    return Optional.of(currentNode);
+                }
 
-            for (T child : successors.apply(currentState)) {
-                if (explored.contains(child)) {
-                    continue;
+                listener.nodeExpanded();
+                for (T child : successors.apply(currentState)) {
+                    if (explored.contains(child)) {
+                        listener.duplicateFound();
+                        continue;
+                    }
+                    explored.add(child);
+                    frontier.push(new Node<>(child, currentNode));
+                    listener.nodeGenerated();
                 }
-                explored.add(child);
-                frontier.push(new Node<>(child, currentNode));
+                listener.frontierSize(frontier.size());
             }
+            return Optional.empty();
+        } finally {
+            listener.finished(explored.size());
         }
-        return Optional.empty();
     }
 
     public static <T> List<T> nodeToPath(Node<T> node) {
@@ -138,23 +229,137 @@ public class GenericSearch {
         return node.path();
     }
 
+    public static <T> Node<T> pathToNode(List<T> path) {
+        assert path != null;
+        assert !path.isEmpty();
+
+        Node<T> node = null;
+        for (T state : path) {
+            node = new Node<>(state, node);
+        }
+        return node;
+    }
+
     public static <T> Optional<Node<T>> bfs(T initial, Predicate<T> goalTest, Function<T, List<T>> successors) {
+        return bfs(initial, goalTest, successors, SearchListener.NONE);
+    }
+
+    public static <T> Optional<Node<T>> bfs(T initial, Predicate<T> goalTest, Function<T, List<T>> successors,
+                                            SearchListener listener) {
+        assert initial != null;
+        assert goalTest != null;
+        assert successors != null;
+        assert listener != null;
+
+        listener.started();
+        final Queue<Node<T>> frontier = new LinkedList<>();
+        frontier.offer(new Node<>(initial, null));
+        listener.nodeGenerated();
+
+        final Set<T> explored = new HashSet<>();
+        explored.add(initial);
+
+        try {
+            while (!frontier.isEmpty()) {
+                final Node<T> currentNode = frontier.poll();
+                final T currentState = currentNode.state;
+
+                if (goalTest.test(currentState)) {
+                    return Optional.of(currentNode);
+                }
+
+                listener.nodeExpanded();
+                for (T child : successors.apply(currentState)) {
+                    if (explored.contains(child)) {
+                        listener.duplicateFound();
+                        continue;
+                    }
+                    explored.add(child);
+                    frontier.offer(new Node<>(child, currentNode));
+                    listener.nodeGenerated();
+                }
+                listener.frontierSize(frontier.size());
+            }
+            return Optional.empty();
+        } finally {
+            listener.finished(explored.size());
+        }
+    }
+
+    public static <T> Optional<Node<T>> parallelBfs(T initial, Predicate<T> goalTest, Function<T, List<T>> successors) {
+        return parallelBfs(initial, goalTest, successors, ForkJoinPool.commonPool());
+    }
+
+    public static <T> Optional<Node<T>> parallelBfs(T initial, Predicate<T> goalTest, Function<T, List<T>> successors,
+                                                    ForkJoinPool pool) {
         assert initial != null;
         assert goalTest != null;
         assert successors != null;
+        assert pool != null;
+
+        final Set<T> explored = ConcurrentHashMap.newKeySet();
+        explored.add(initial);
+
+        List<Node<T>> layer = List.of(new Node<>(initial, null));
+        while (!layer.isEmpty()) {
+            // The layer is tested and expanded in parallel, but the layer order is kept, so the same node is
+            // returned as with bfs
+            final List<Node<T>> currentLayer = layer;
+            final Optional<Node<T>> goal = pool.submit(() -> currentLayer.parallelStream()
+                    .filter(node -> goalTest.test(node.state))
+                    .findFirst()
+            ).join();
+            if (goal.isPresent()) {
+                return goal;
+            }
 
+            final List<List<T>> children = pool.submit(() -> currentLayer.parallelStream()
+                    .map(node -> successors.apply(node.state).stream()
+                            .filter(child -> !explored.contains(child))
+                            .toList())
+                    .toList()
+            ).join();
+
+            final List<Node<T>> nextLayer = new ArrayList<>();
+            for (int idx = 0; idx < currentLayer.size(); idx++) {
+                for (T child : children.get(idx)) {
+                    if (explored.add(child)) {
+                        nextLayer.add(new Node<>(child, currentLayer.get(idx)));
+                    }
+                }
+            }
+            layer = nextLayer;
+        }
+        return Optional.empty();
+    }
+
+    public static <T> BudgetedResult<T> budgetedBfs(T initial, Predicate<T> goalTest, Function<T, List<T>> successors,
+                                                    ToDoubleFunction<T> heuristic, Budget budget) {
+        assert initial != null;
+        assert goalTest != null;
+        assert successors != null;
+        assert heuristic != null;
+        assert budget != null;
+
+        final long start = System.nanoTime();
         final Queue<Node<T>> frontier = new LinkedList<>();
         frontier.offer(new Node<>(initial, null));
 
         final Set<T> explored = new HashSet<>();
         explored.add(initial);
 
+        Node<T> best = frontier.peek();
+        double bestHeuristic = heuristic.applyAsDouble(initial);
+        long expansions = 0;
         while (!frontier.isEmpty()) {
             final Node<T> currentNode = frontier.poll();
             final T currentState = currentNode.state;
 
             if (goalTest.test(currentState)) {
-                return Optional.of(currentNode);
+                return new BudgetedResult<>(currentNode, true, true);
+            }
+            if (budget.exhausted(start, expansions++)) {
+                return new BudgetedResult<>(best, false, false);
             }
 
             for (T child : successors.apply(currentState)) {
@@ -162,20 +367,294 @@ public class GenericSearch {
                     continue;
                 }
                 explored.add(child);
-                frontier.offer(new Node<>(child, currentNode));
+                final Node<T> childNode = new Node<>(child, currentNode);
+                frontier.offer(childNode);
+
+                final double childHeuristic = heuristic.applyAsDouble(child);
+                if (childHeuristic < bestHeuristic) {
+                    best = childNode;
+                    bestHeuristic = childHeuristic;
+                }
             }
         }
+        return new BudgetedResult<>(best, false, true);
+    }
+
+    public static <T> Optional<Node<T>> bidirectionalBfs(T initial, T goal, Function<T, List<T>> successors,
+                                                         Function<T, List<T>> predecessors) {
+        assert initial != null;
+        assert goal != null;
+        assert successors != null;
+        assert predecessors != null;
+
+        if (initial.equals(goal))
+            return Optional.of(new Node<>(initial, null));
+
+        // Both maps hold the node through which a state was first reached, the forward nodes chain back to the
+        // initial state, the backward nodes chain back to the goal state
+        final Map<T, Node<T>> forward = new HashMap<>();
+        final Map<T, Node<T>> backward = new HashMap<>();
+        final Queue<Node<T>> forwardFrontier = new LinkedList<>();
+        final Queue<Node<T>> backwardFrontier = new LinkedList<>();
+
+        final Node<T> initialNode = new Node<>(initial, null);
+        final Node<T> goalNode = new Node<>(goal, null);
+        forward.put(initial, initialNode);
+        backward.put(goal, goalNode);
+        forwardFrontier.offer(initialNode);
+        backwardFrontier.offer(goalNode);
+
+        while (!forwardFrontier.isEmpty() && !backwardFrontier.isEmpty()) {
+            final Optional<T> meeting = forwardFrontier.size() <= backwardFrontier.size() ?
+                    expandLayer(forwardFrontier, forward, backward, successors) :
+                    expandLayer(backwardFrontier, backward, forward, predecessors);
+
+            if (meeting.isPresent())
+                return Optional.of(join(forward.get(meeting.get()), backward.get(meeting.get())));
+        }
         return Optional.empty();
     }
 
+    private static <T> Optional<T> expandLayer(Queue<Node<T>> frontier, Map<T, Node<T>> explored,
+                                               Map<T, Node<T>> opposite, Function<T, List<T>> successors) {
+        T meeting = null;
+        int meetingSteps = Integer.MAX_VALUE;
+
+        // Expand the complete layer, so the shortest of all meetings in this layer can be selected
+        for (int count = frontier.size(); count > 0; count--) {
+            final Node<T> currentNode = frontier.poll();
+
+            for (T child : successors.apply(currentNode.state)) {
+                if (explored.containsKey(child)) {
+                    continue;
+                }
+                final Node<T> childNode = new Node<>(child, currentNode);
+                explored.put(child, childNode);
+                frontier.offer(childNode);
+
+                final Node<T> oppositeNode = opposite.get(child);
+                if (oppositeNode != null && oppositeNode.steps() < meetingSteps) {
+                    meeting = child;
+                    meetingSteps = oppositeNode.steps();
+                }
+            }
+        }
+        return Optional.ofNullable(meeting);
+    }
+
+    private static <T> Node<T> join(Node<T> forwardNode, Node<T> backwardNode) {
+        Node<T> node = forwardNode;
+        for (Node<T> next = backwardNode.parent; next != null; next = next.parent) {
+            node = new Node<>(next.state, node);
+        }
+        return node;
+    }
+
     public static <T> List<Node<T>> findAll(T initial, Predicate<T> goalTest, Function<T, List<T>> successors) {
+        return findAll(initial, goalTest, successors, SearchListener.NONE);
+    }
+
+    public static <T> List<Node<T>> findAll(T initial, Predicate<T> goalTest, Function<T, List<T>> successors,
+                                            SearchListener listener) {
         assert initial != null;
         assert goalTest != null;
         assert successors != null;
+        assert listener != null;
 
+        listener.started();
         final List<Node<T>> all = new ArrayList<>();
         final Queue<Node<T>> frontier = new LinkedList<>();
         frontier.offer(new Node<>(initial, null));
+        listener.nodeGenerated();
+
+        final Set<T> explored = new HashSet<>();
+        explored.add(initial);
+
+        try {
+            while (!frontier.isEmpty()) {
+                final Node<T> currentNode = frontier.poll();
+                final T currentState = currentNode.state;
+
+                if (goalTest.test(currentState)) {
+                    all.add(currentNode);
+                    continue;
+                }
+
+                listener.nodeExpanded();
+                for (T child : successors.apply(currentState)) {
+                    if (explored.contains(child)) {
+                        listener.duplicateFound();
+                        continue;
+                    }
+                    explored.add(child);
+                    frontier.offer(new Node<>(child, currentNode));
+                    listener.nodeGenerated();
+                }
+                listener.frontierSize(frontier.size());
+            }
+            return all;
+        } finally {
+            listener.finished(explored.size());
+        }
+    }
+
+    public static <T> Stream<Node<T>> streamAll(T initial, Predicate<T> goalTest, Function<T, List<T>> successors) {
+        assert initial != null;
+        assert goalTest != null;
+        assert successors != null;
+
+        final FindAllIterator<T> iterator = new FindAllIterator<>(initial, goalTest, successors);
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false
+        ).onClose(iterator::close);
+    }
+
+    // Breadth first search which stops at every goal node, the frontier and explored set are released once the
+    // search is exhausted or closed
+    private static class FindAllIterator<T> implements Iterator<Node<T>> {
+        private final Predicate<T> goalTest;
+        private final Function<T, List<T>> successors;
+        private Queue<Node<T>> frontier = new LinkedList<>();
+        private Set<T> explored = new HashSet<>();
+        private Node<T> next;
+
+        private FindAllIterator(T initial, Predicate<T> goalTest, Function<T, List<T>> successors) {
+            this.goalTest = goalTest;
+            this.successors = successors;
+
+            frontier.offer(new Node<>(initial, null));
+            explored.add(initial);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && frontier != null)
+                next = advance();
+
+            return next != null;
+        }
+
+        @Override
+        public Node<T> next() {
+            if (!hasNext())
+                throw new NoSuchElementException("No more goal nodes");
+
+            final Node<T> node = next;
+            next = null;
+            return node;
+        }
+
+        private Node<T> advance() {
+            while (!frontier.isEmpty()) {
+                final Node<T> currentNode = frontier.poll();
+                final T currentState = currentNode.state;
+
+                if (goalTest.test(currentState)) {
+                    return currentNode;
+                }
+
+                for (T child : successors.apply(currentState)) {
+                    if (explored.contains(child)) {
+                        continue;
+                    }
+                    explored.add(child);
+                    frontier.offer(new Node<>(child, currentNode));
+                }
+            }
+
+            close();
+            return null;
+        }
+
+        private void close() {
+            frontier = null;
+            explored = null;
+            next = null;
+        }
+    }
+
+    public static <T> Optional<Node<T>> astar(T initial, Predicate<T> goalTest, Function<T, List<T>> successors, ToDoubleFunction<T> heuristic) {
+        return astar(initial, goalTest, successors, (from, to) -> 1.0, heuristic, 1.0);
+    }
+
+    public static <T> Optional<Node<T>> astar(T initial, Predicate<T> goalTest, Function<T, List<T>> successors,
+                                              ToDoubleBiFunction<T, T> stepCost, ToDoubleFunction<T> heuristic) {
+        return astar(initial, goalTest, successors, stepCost, heuristic, 1.0);
+    }
+
+    public static <T> Optional<Node<T>> astar(T initial, Predicate<T> goalTest, Function<T, List<T>> successors,
+                                              ToDoubleFunction<T> heuristic, SearchListener listener) {
+        return astar(initial, goalTest, successors, (from, to) -> 1.0, heuristic, 1.0, listener);
+    }
+
+    // A weight above 1.0 turns this into weighted A*, the heuristic is multiplied by the weight which usually
+    // expands far less nodes, the cost of the returned path is at most weight times the optimal cost
+    public static <T> Optional<Node<T>> astar(T initial, Predicate<T> goalTest, Function<T, List<T>> successors,
+                                              ToDoubleBiFunction<T, T> stepCost, ToDoubleFunction<T> heuristic, double weight) {
+        return astar(initial, goalTest, successors, stepCost, heuristic, weight, SearchListener.NONE);
+    }
+
+    public static <T> Optional<Node<T>> astar(T initial, Predicate<T> goalTest, Function<T, List<T>> successors,
+                                              ToDoubleBiFunction<T, T> stepCost, ToDoubleFunction<T> heuristic, double weight,
+                                              SearchListener listener) {
+        assert initial != null;
+        assert goalTest != null;
+        assert successors != null;
+        assert stepCost != null;
+        assert heuristic != null;
+        assert weight >= 1.0;
+        assert listener != null;
+
+        listener.started();
+        final Queue<Node<T>> frontier = new PriorityQueue<>();
+        frontier.offer(new Node<>(initial, null, 0.0, weight * heuristic.applyAsDouble(initial)));
+        listener.heuristicEvaluated();
+        listener.nodeGenerated();
+
+        final Map<T, Double> explored = new HashMap<>();
+        explored.put(initial, 0.0);
+
+        try {
+            while (!frontier.isEmpty()) {
+                final Node<T> currentNode = frontier.poll();
+                final T currentState = currentNode.state;
+
+                if (currentNode.cost > explored.get(currentState)) {
+                    continue; // a cheaper path to this state was found after this node was queued
+                }
+                if (goalTest.test(currentState)) {
+                    return Optional.of(currentNode);
+                }
+
+                listener.nodeExpanded();
+                for (T child : successors.apply(currentState)) {
+                    double newCost = currentNode.cost + stepCost.applyAsDouble(currentState, child);
+                    if (!explored.containsKey(child) || explored.get(child) > newCost) {
+                        explored.put(child, newCost);
+                        frontier.offer(new Node<>(child, currentNode, newCost, weight * heuristic.applyAsDouble(child)));
+                        listener.heuristicEvaluated();
+                        listener.nodeGenerated();
+                    } else {
+                        listener.duplicateFound();
+                    }
+                }
+                listener.frontierSize(frontier.size());
+            }
+            return Optional.empty();
+        } finally {
+            listener.finished(explored.size());
+        }
+    }
+
+    public static <T> Optional<Node<T>> greedyBestFirst(T initial, Predicate<T> goalTest, Function<T, List<T>> successors,
+                                                        ToDoubleFunction<T> heuristic) {
+        assert initial != null;
+        assert goalTest != null;
+        assert successors != null;
+        assert heuristic != null;
+
+        final Queue<Node<T>> frontier = new PriorityQueue<>(Comparator.comparingDouble(node -> node.heuristic));
+        frontier.offer(new Node<>(initial, null, 0.0, heuristic.applyAsDouble(initial)));
 
         final Set<T> explored = new HashSet<>();
         explored.add(initial);
@@ -185,8 +664,7 @@ public class GenericSearch {
             final T currentState = currentNode.state;
 
             if (goalTest.test(currentState)) {
-                all.add(currentNode);
-                continue;
+                return Optional.of(currentNode);
             }
 
             for (T child : successors.apply(currentState)) {
@@ -194,42 +672,164 @@ public class GenericSearch {
                     continue;
                 }
                 explored.add(child);
-                frontier.offer(new Node<>(child, currentNode));
+                frontier.offer(new Node<>(child, currentNode, currentNode.cost + 1, heuristic.applyAsDouble(child)));
             }
         }
+        return Optional.empty();
+    }
 
-        return all;
+    // Only the beamWidth best nodes by heuristic of every layer are kept, so the explored set holds at most
+    // beamWidth times depth states, but the search may miss a solution that exists
+    public static <T> Optional<Node<T>> beamSearch(T initial, Predicate<T> goalTest, Function<T, List<T>> successors,
+                                                   ToDoubleFunction<T> heuristic, int beamWidth) {
+        assert initial != null;
+        assert goalTest != null;
+        assert successors != null;
+        assert heuristic != null;
+        assert beamWidth > 0;
+
+        final Comparator<Node<T>> byHeuristic = Comparator.comparingDouble(node -> node.heuristic);
+        final Set<T> explored = new HashSet<>();
+        explored.add(initial);
+
+        List<Node<T>> beam = List.of(new Node<>(initial, null, 0.0, heuristic.applyAsDouble(initial)));
+        while (!beam.isEmpty()) {
+            for (Node<T> node : beam) {
+                if (goalTest.test(node.state)) {
+                    return Optional.of(node);
+                }
+            }
+
+            // a max-heap on heuristic, so the worst candidate is dropped when the beam overflows
+            final Queue<Node<T>> candidates = new PriorityQueue<>(beamWidth + 1, byHeuristic.reversed());
+            final Set<T> layer = new HashSet<>();
+            for (Node<T> node : beam) {
+                for (T child : successors.apply(node.state)) {
+                    if (explored.contains(child) || !layer.add(child)) {
+                        continue;
+                    }
+                    candidates.offer(new Node<>(child, node, node.cost + 1, heuristic.applyAsDouble(child)));
+                    if (candidates.size() > beamWidth) {
+                        candidates.poll();
+                    }
+                }
+            }
+
+            final List<Node<T>> nextBeam = new ArrayList<>(candidates);
+            nextBeam.sort(byHeuristic);
+            nextBeam.forEach(node -> explored.add(node.state));
+            beam = nextBeam;
+        }
+        return Optional.empty();
     }
 
-    public static <T> Optional<Node<T>> astar(T initial, Predicate<T> goalTest, Function<T, List<T>> successors, ToDoubleFunction<T> heuristic) {
+    public static <T> BudgetedResult<T> budgetedAstar(T initial, Predicate<T> goalTest, Function<T, List<T>> successors,
+                                                      ToDoubleFunction<T> heuristic, Budget budget) {
+        return budgetedAstar(initial, goalTest, successors, (from, to) -> 1.0, heuristic, budget);
+    }
+
+    public static <T> BudgetedResult<T> budgetedAstar(T initial, Predicate<T> goalTest, Function<T, List<T>> successors,
+                                                      ToDoubleBiFunction<T, T> stepCost, ToDoubleFunction<T> heuristic,
+                                                      Budget budget) {
         assert initial != null;
         assert goalTest != null;
         assert successors != null;
+        assert stepCost != null;
         assert heuristic != null;
+        assert budget != null;
 
+        final long start = System.nanoTime();
         final Queue<Node<T>> frontier = new PriorityQueue<>();
         frontier.offer(new Node<>(initial, null, 0.0, heuristic.applyAsDouble(initial)));
 
         final Map<T, Double> explored = new HashMap<>();
         explored.put(initial, 0.0);
 
+        Node<T> best = frontier.peek();
+        long expansions = 0;
         while (!frontier.isEmpty()) {
             final Node<T> currentNode = frontier.poll();
             final T currentState = currentNode.state;
 
+            if (currentNode.cost > explored.get(currentState)) {
+                continue;
+            }
             if (goalTest.test(currentState)) {
-                return Optional.of(currentNode);
+                return new BudgetedResult<>(currentNode, true, true);
+            }
+            if (budget.exhausted(start, expansions++)) {
+                return new BudgetedResult<>(best, false, false);
             }
 
             for (T child : successors.apply(currentState)) {
-                double newCost = currentNode.cost + 1;
+                double newCost = currentNode.cost + stepCost.applyAsDouble(currentState, child);
                 if (!explored.containsKey(child) || explored.get(child) > newCost) {
                     explored.put(child, newCost);
-                    frontier.offer(new Node<>(child, currentNode, newCost, heuristic.applyAsDouble(child)));
+                    final Node<T> childNode = new Node<>(child, currentNode, newCost, heuristic.applyAsDouble(child));
+                    frontier.offer(childNode);
+
+                    if (childNode.heuristic < best.heuristic ||
+                            (childNode.heuristic == best.heuristic && childNode.cost < best.cost)) {
+                        best = childNode;
+                    }
+                }
+            }
+        }
+        return new BudgetedResult<>(best, false, true);
+    }
+
+    public static <T> Optional<Node<T>> idaStar(T initial, Predicate<T> goalTest, Function<T, List<T>> successors, ToDoubleFunction<T> heuristic) {
+        assert initial != null;
+        assert goalTest != null;
+        assert successors != null;
+        assert heuristic != null;
+
+        final Node<T> root = new Node<>(initial, null, 0.0, heuristic.applyAsDouble(initial));
+        if (goalTest.test(initial)) {
+            return Optional.of(root);
+        }
+
+        double threshold = root.cost + root.heuristic;
+        while (threshold < Double.POSITIVE_INFINITY) {
+            // Depth first search limited by threshold, only the current path and its pending successors are kept
+            final Deque<Iterator<T>> children = new ArrayDeque<>();
+            final Set<T> onPath = new HashSet<>();
+            double nextThreshold = Double.POSITIVE_INFINITY;
+
+            Node<T> currentNode = root;
+            onPath.add(initial);
+            children.push(successors.apply(initial).iterator());
+
+            while (!children.isEmpty()) {
+                if (!children.peek().hasNext()) {
+                    children.pop();
+                    onPath.remove(currentNode.state);
+                    currentNode = currentNode.parent;
+                    continue;
+                }
+
+                final T child = children.peek().next();
+                if (onPath.contains(child)) {
+                    continue;
                 }
+
+                final Node<T> childNode = new Node<>(child, currentNode, currentNode.cost + 1, heuristic.applyAsDouble(child));
+                final double estimate = childNode.cost + childNode.heuristic;
+                if (estimate > threshold) {
+                    nextThreshold = Math.min(nextThreshold, estimate);
+                    continue;
+                }
+                if (goalTest.test(child)) {
+                    return Optional.of(childNode);
+                }
+
+                onPath.add(child);
+                children.push(successors.apply(child).iterator());
+                currentNode = childNode;
             }
+            threshold = nextThreshold;
         }
 
         return Optional.empty();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,92 @@
+package com.putoet.search;
+
+import java.util.Arrays;
+
+// Open addressing hash map from long keys to non-negative int values, using linear probing. No objects are
+// allocated per entry, the backing arrays only grow when the map is more than half full.
+class LongIntMap {
+    static final int ABSENT = -1;
+    private static final int INITIAL_CAPACITY = 1 << 10;
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+
+    LongIntMap() {
+        this(INITIAL_CAPACITY);
+    }
+
+    LongIntMap(int capacity) {
+        assert capacity > 0;
+
+        final int tableSize = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        keys = new long[tableSize];
+        values = new int[tableSize];
+        Arrays.fill(values, ABSENT);
+    }
+
+    int get(long key) {
+        final int mask = keys.length - 1;
+        for (int idx = slot(key, mask); values[idx] != ABSENT; idx = (idx + 1) & mask) {
+            if (keys[idx] == key)
+                return values[idx];
+        }
+        return ABSENT;
+    }
+
+    boolean containsKey(long key) {
+        return get(key) != ABSENT;
+    }
+
+    int put(long key, int value) {
+        assert value >= 0;
+
+        final int mask = keys.length - 1;
+        int idx = slot(key, mask);
+        for (; values[idx] != ABSENT; idx = (idx + 1) & mask) {
+            if (keys[idx] == key) {
+                final int previous = values[idx];
+                values[idx] = value;
+                return previous;
+            }
+        }
+
+        keys[idx] = key;
+        values[idx] = value;
+        if (++size > keys.length / 2)
+            rehash(keys.length * 2);
+
+        return ABSENT;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        if (size > 0) {
+            Arrays.fill(values, ABSENT);
+            size = 0;
+        }
+    }
+
+    private void rehash(int capacity) {
+        final long[] oldKeys = keys;
+        final int[] oldValues = values;
+
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(values, ABSENT);
+        size = 0;
+
+        for (int idx = 0; idx < oldKeys.length; idx++) {
+            if (oldValues[idx] != ABSENT)
+                put(oldKeys[idx], oldValues[idx]);
+        }
+    }
+
+    private static int slot(long key, int mask) {
+        final long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,249 @@
+package com.putoet.search;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+import java.util.function.LongToDoubleFunction;
+
+// Search on states encoded as a long. Nodes are kept in parallel arrays (state, parent, cost) and referred to by
+// their index, the explored set is an open addressing map from state to node. All buffers are reused between
+// searches on the same instance, so a search does not allocate once the buffers have grown large enough.
+// An instance is not thread safe, and the node indices of a result are only valid until the next search.
+public class LongSearch {
+    public static final int NOT_FOUND = -1;
+    private static final int INITIAL_CAPACITY = 1 << 10;
+
+    @FunctionalInterface
+    public interface Successors {
+        void apply(long state, LongConsumer sink);
+    }
+
+    private long[] states = new long[INITIAL_CAPACITY];
+    private int[] parents = new int[INITIAL_CAPACITY];
+    private double[] costs = new double[INITIAL_CAPACITY];
+    // only used by astar, so allocated on its first use
+    private double[] estimates = new double[0];
+    private int size;
+
+    private int[] frontier = new int[INITIAL_CAPACITY];
+    private int frontierSize;
+
+    private final LongIntMap explored = new LongIntMap();
+
+    private int currentNode;
+    private LongToDoubleFunction currentHeuristic;
+    private final LongConsumer dfsSink = this::dfsOffer;
+    private final LongConsumer bfsSink = this::bfsOffer;
+    private final LongConsumer astarSink = this::astarOffer;
+
+    public int dfs(long initial, LongPredicate goalTest, Successors successors) {
+        assert goalTest != null;
+        assert successors != null;
+
+        reset();
+        push(addNode(initial, NOT_FOUND, 0.0));
+        explored.put(initial, 0);
+
+        while (frontierSize > 0) {
+            currentNode = frontier[--frontierSize];
+            final long currentState = states[currentNode];
+
+            if (goalTest.test(currentState)) {
+                return currentNode;
+            }
+
+            successors.apply(currentState, dfsSink);
+        }
+        return NOT_FOUND;
+    }
+
+    public int bfs(long initial, LongPredicate goalTest, Successors successors) {
+        assert goalTest != null;
+        assert successors != null;
+
+        reset();
+        addNode(initial, NOT_FOUND, 0.0);
+        explored.put(initial, 0);
+
+        // nodes are added in the order they are discovered, so the node arrays double as the queue
+        for (currentNode = 0; currentNode < size; currentNode++) {
+            final long currentState = states[currentNode];
+
+            if (goalTest.test(currentState)) {
+                return currentNode;
+            }
+
+            successors.apply(currentState, bfsSink);
+        }
+        return NOT_FOUND;
+    }
+
+    public int astar(long initial, LongPredicate goalTest, Successors successors, LongToDoubleFunction heuristic) {
+        assert goalTest != null;
+        assert successors != null;
+        assert heuristic != null;
+
+        reset();
+        currentHeuristic = heuristic;
+        explored.put(initial, addNode(initial, NOT_FOUND, 0.0, heuristic.applyAsDouble(initial)));
+        heapPush(0);
+
+        try {
+            while (frontierSize > 0) {
+                currentNode = heapPop();
+                final long currentState = states[currentNode];
+
+                if (explored.get(currentState) != currentNode) {
+                    continue; // a cheaper node for this state was added after this one was queued
+                }
+                if (goalTest.test(currentState)) {
+                    return currentNode;
+                }
+
+                successors.apply(currentState, astarSink);
+            }
+            return NOT_FOUND;
+        } finally {
+            currentHeuristic = null;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long state(int node) {
+        checkNode(node);
+        return states[node];
+    }
+
+    public int parent(int node) {
+        checkNode(node);
+        return parents[node];
+    }
+
+    public double cost(int node) {
+        checkNode(node);
+        return costs[node];
+    }
+
+    public int steps(int node) {
+        checkNode(node);
+
+        int steps = 0;
+        for (int idx = node; parents[idx] != NOT_FOUND; idx = parents[idx]) {
+            steps++;
+        }
+        return steps;
+    }
+
+    public long[] path(int node) {
+        final long[] path = new long[steps(node) + 1];
+        for (int idx = node, pos = path.length - 1; idx != NOT_FOUND; idx = parents[idx], pos--) {
+            path[pos] = states[idx];
+        }
+        return path;
+    }
+
+    private void dfsOffer(long child) {
+        if (explored.containsKey(child))
+            return;
+
+        final int node = addNode(child, currentNode, 0.0);
+        explored.put(child, node);
+        push(node);
+    }
+
+    private void bfsOffer(long child) {
+        if (explored.containsKey(child))
+            return;
+
+        explored.put(child, addNode(child, currentNode, 0.0));
+    }
+
+    private void astarOffer(long child) {
+        final double newCost = costs[currentNode] + 1;
+        final int previous = explored.get(child);
+        if (previous != LongIntMap.ABSENT && costs[previous] <= newCost)
+            return;
+
+        final int node = addNode(child, currentNode, newCost, newCost + currentHeuristic.applyAsDouble(child));
+        explored.put(child, node);
+        heapPush(node);
+    }
+
+    private void reset() {
+        size = 0;
+        frontierSize = 0;
+        explored.clear();
+    }
+
+    private int addNode(long state, int parent, double cost) {
+        if (size == states.length) {
+            final int capacity = states.length * 2;
+            states = Arrays.copyOf(states, capacity);
+            parents = Arrays.copyOf(parents, capacity);
+            costs = Arrays.copyOf(costs, capacity);
+        }
+
+        states[size] = state;
+        parents[size] = parent;
+        costs[size] = cost;
+        return size++;
+    }
+
+    private int addNode(long state, int parent, double cost, double estimate) {
+        final int node = addNode(state, parent, cost);
+        if (node >= estimates.length)
+            estimates = Arrays.copyOf(estimates, states.length);
+
+        estimates[node] = estimate;
+        return node;
+    }
+
+    private void push(int node) {
+        if (frontierSize == frontier.length)
+            frontier = Arrays.copyOf(frontier, frontier.length * 2);
+
+        frontier[frontierSize++] = node;
+    }
+
+    private void heapPush(int node) {
+        push(node);
+
+        int idx = frontierSize - 1;
+        while (idx > 0) {
+            final int parentIdx = (idx - 1) / 2;
+            if (estimates[frontier[parentIdx]] <= estimates[node])
+                break;
+
+            frontier[idx] = frontier[parentIdx];
+            idx = parentIdx;
+        }
+        frontier[idx] = node;
+    }
+
+    private int heapPop() {
+        final int top = frontier[0];
+        final int last = frontier[--frontierSize];
+
+        int idx = 0;
+        while (2 * idx + 1 < frontierSize) {
+            int childIdx = 2 * idx + 1;
+            if (childIdx + 1 < frontierSize && estimates[frontier[childIdx + 1]] < estimates[frontier[childIdx]])
+                childIdx++;
+            if (estimates[last] <= estimates[frontier[childIdx]])
+                break;
+
+            frontier[idx] = frontier[childIdx];
+            idx = childIdx;
+        }
+        frontier[idx] = last;
+        return top;
+    }
+
+    private void checkNode(int node) {
+        if (node < 0 || node >= size)
+            throw new IllegalArgumentException("Invalid node " + node + " (number of nodes: " + size + ")");
+    }
+}
@@ -0,0 +1,21 @@
+package com.putoet.search;
+
+// Callbacks from the search algorithms in GenericSearch, all methods default to doing nothing. Use NONE when no
+// instrumentation is needed, or SearchStats to collect the numbers of a single search.
+public interface SearchListener {
+    SearchListener NONE = new SearchListener() {};
+
+    default void started() {}
+
+    default void nodeExpanded() {}
+
+    default void nodeGenerated() {}
+
+    default void duplicateFound() {}
+
+    default void heuristicEvaluated() {}
+
+    default void frontierSize(int size) {}
+
+    default void finished(int exploredSize) {}
+}
@@ -0,0 +1,96 @@
+package com.putoet.search;
+
+import java.time.Duration;
+
+public class SearchStats implements SearchListener {
+    private long expanded;
+    private long generated;
+    private long duplicates;
+    private long heuristicEvaluations;
+    private int peakFrontier;
+    private int explored;
+    private long startNanos;
+    private long elapsedNanos;
+
+    @Override
+    public void started() {
+        expanded = 0;
+        generated = 0;
+        duplicates = 0;
+        heuristicEvaluations = 0;
+        peakFrontier = 0;
+        explored = 0;
+        elapsedNanos = 0;
+        startNanos = System.nanoTime();
+    }
+
+    @Override
+    public void nodeExpanded() {
+        expanded++;
+    }
+
+    @Override
+    public void nodeGenerated() {
+        generated++;
+    }
+
+    @Override
+    public void duplicateFound() {
+        duplicates++;
+    }
+
+    @Override
+    public void heuristicEvaluated() {
+        heuristicEvaluations++;
+    }
+
+    @Override
+    public void frontierSize(int size) {
+        peakFrontier = Math.max(peakFrontier, size);
+    }
+
+    @Override
+    public void finished(int exploredSize) {
+        explored = exploredSize;
+        elapsedNanos = System.nanoTime() - startNanos;
+    }
+
+    public long expanded() {
+        return expanded;
+    }
+
+    public long generated() {
+        return generated;
+    }
+
+    public long duplicates() {
+        return duplicates;
+    }
+
+    public long heuristicEvaluations() {
+        return heuristicEvaluations;
+    }
+
+    public int peakFrontier() {
+        return peakFrontier;
+    }
+
+    public int explored() {
+        return explored;
+    }
+
+    public Duration elapsed() {
+        return Duration.ofNanos(elapsedNanos);
+    }
+
+    @Override
+    public String toString() {
+        return "{expanded: " + expanded +
+                ", generated: " + generated +
+                ", duplicates: " + duplicates +
+                ", heuristicEvaluations: " + heuristicEvaluations +
+                ", peakFrontier: " + peakFrontier +
+                ", explored: " + explored +
+                ", elapsed: " + elapsed() + "}";
+    }
+}
@@ -3,8 +3,13 @@ package com.putoet.graph;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -74,4 +79,58 @@ class WeightedGraphTest {
         final List<WeightedEdge> path = graph.pathOf("Los Angeles", "Boston", result.pathMap());
         assertEquals(2605.0, WeightedGraph.totalWeight(path));
     }
-}
\ No newline at end of file
+
+    @Test
+    void randomGraphs() {
+        for (int run = 0; run < 10; run++) {
+            final int vertexCount = 100;
+            final WeightedGraph<Integer> random = randomGraph(new Random(run), vertexCount, 300);
+            final int root = run * 7 % vertexCount;
+
+            // Bellman-Ford and Kruskal as independent references
+            final double[] expected = new double[vertexCount];
+            Arrays.fill(expected, Double.POSITIVE_INFINITY);
+            expected[root] = 0;
+            for (int pass = 1; pass < vertexCount; pass++)
+                for (int u = 0; u < vertexCount; u++)
+                    for (WeightedEdge edge : random.edgesOf(u))
+                        expected[edge.v] = Math.min(expected[edge.v], expected[u] + edge.weight);
+            assertArrayEquals(expected, random.dijkstra(root).distances());
+
+            final List<WeightedEdge> edges = new ArrayList<>();
+            for (int u = 0; u < vertexCount; u++)
+                edges.addAll(random.edgesOf(u));
+            Collections.sort(edges);
+            final int[] parents = IntStream.range(0, vertexCount).toArray();
+            double kruskal = 0;
+            for (WeightedEdge edge : edges) {
+                final int u = find(parents, edge.u), v = find(parents, edge.v);
+                if (u != v) {
+                    parents[u] = v;
+                    kruskal += edge.weight;
+                }
+            }
+            final List<WeightedEdge> mst = random.mst(root);
+            assertEquals(vertexCount - 1, mst.size());
+            assertEquals(kruskal, WeightedGraph.totalWeight(mst));
+        }
+    }
+
+    private static WeightedGraph<Integer> randomGraph(Random random, int vertexCount, int extraEdges) {
+        final WeightedGraph<Integer> graph = new WeightedGraph<>(IntStream.range(0, vertexCount).boxed().toList());
+        for (int v = 1; v < vertexCount; v++)
+            graph.addEdge(random.nextInt(v), v, 1 + random.nextInt(50));
+        for (int edge = 0; edge < extraEdges; edge++) {
+            final int u = random.nextInt(vertexCount), v = random.nextInt(vertexCount);
+            if (u != v)
+                graph.addEdge(u, v, 1 + random.nextInt(50));
+        }
+        return graph;
+    }
+
+    private static int find(int[] parents, int vertex) {
+        while (parents[vertex] != vertex)
+            vertex = parents[vertex];
+        return vertex;
+    }
+}
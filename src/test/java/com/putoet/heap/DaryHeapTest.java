@@ -0,0 +1,35 @@
+package com.putoet.heap;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DaryHeapTest extends HeapContractTest {
+    @Override
+    protected Heap<Integer, Integer> newHeap() {
+        return new DaryHeap<>();
+    }
+
+    @Test
+    void create() {
+        assertThrows(AssertionError.class, () -> new DaryHeap<Integer, String>(1));
+        assertEquals(DaryHeap.DEFAULT_ARITY, new DaryHeap<Integer, String>().arity());
+    }
+
+    @Test
+    void arities() {
+        for (int arity : new int[]{2, 3, 8})
+            assertRandomOperations(new DaryHeap<>(arity));
+    }
+
+    @Test
+    void bulkConstructor() {
+        final List<Heap.Entry<Integer, Integer>> entries = entries();
+        final Heap<Integer, Integer> heap = new DaryHeap<>(3, entries);
+        assertEquals(1_000, heap.size());
+        assertTrue(heap.contains(500));
+        assertEquals(sortedKeys(entries), keys(entries, heap.drainSorted()));
+    }
+}
@@ -0,0 +1,39 @@
+package com.putoet.heap;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FibonacciHeapTest extends HeapContractTest {
+    @Override
+    protected Heap<Integer, Integer> newHeap() {
+        return new FibonacciHeap<>();
+    }
+
+    @Test
+    void cascadingCuts() {
+        // the first top consolidates the roots into trees, lowering and removing nodes deep in them cuts the
+        // nodes and their marked parents
+        final FibonacciHeap<Integer, Integer> heap = new FibonacciHeap<>();
+        for (int element = 0; element < 1_024; element++)
+            heap.insert(element, element);
+        assertEquals(0, heap.top());
+
+        final List<Integer> expected = new ArrayList<>();
+        for (int element = 1_023; element >= 512; element -= 2) {
+            assertTrue(heap.update(element, -element));
+            expected.add(element);
+        }
+        for (int element = 100; element < 200; element++)
+            assertTrue(heap.remove(element));
+        for (int element = 1; element < 1_024; element++) {
+            if ((element < 100 || element >= 200) && (element < 512 || element % 2 == 0))
+                expected.add(element);
+        }
+
+        assertEquals(expected, heap.drainSorted());
+    }
+}
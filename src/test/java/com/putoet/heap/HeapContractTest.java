@@ -0,0 +1,130 @@
+package com.putoet.heap;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Behaviour shared by every Heap implementation, the test of an implementation extends this class and only adds
+// the cases specific to that implementation
+abstract class HeapContractTest {
+    protected abstract Heap<Integer, Integer> newHeap();
+
+    @Test
+    void insertUpdateRemove() {
+        final Heap<Integer, Integer> heap = newHeap();
+        assertTrue(heap.isEmpty());
+        assertThrows(IllegalStateException.class, heap::top);
+        assertThrows(IllegalStateException.class, heap::peek);
+
+        for (int element : new int[]{7, 2, 6, 3, 4, 1, 5})
+            assertTrue(heap.insert(element, element));
+        assertFalse(heap.insert(0, 5));
+        assertEquals(7, heap.size());
+        assertTrue(heap.contains(5));
+        assertFalse(heap.contains(8));
+
+        assertEquals(1, heap.peek());
+        assertTrue(heap.update(7, 0));
+        assertTrue(heap.update(2, 8));
+        assertTrue(heap.remove(3));
+        assertFalse(heap.remove(3));
+        assertFalse(heap.update(3, 3));
+        assertFalse(heap.contains(3));
+
+        for (int element : new int[]{7, 1, 4, 5, 6, 2})
+            assertEquals(element, heap.top());
+        assertTrue(heap.isEmpty());
+        assertFalse(heap.contains(2));
+    }
+
+    @Test
+    void decreaseKeys() {
+        final Heap<Integer, Integer> heap = newHeap();
+        for (int element = 0; element < 1_000; element++)
+            heap.insert(element + 1_000, element);
+        heap.top();
+        for (int element = 999; element > 0; element--)
+            assertTrue(heap.update(element, 999 - element));
+
+        for (int element = 999; element > 0; element--)
+            assertEquals(element, heap.top());
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    void randomOperations() {
+        assertRandomOperations(newHeap());
+    }
+
+    @Test
+    void bulkInsert() {
+        final List<Heap.Entry<Integer, Integer>> entries = entries();
+        final List<Integer> expected = sortedKeys(entries);
+
+        // a small batch on a large heap is inserted one by one, a large batch heapified
+        final Heap<Integer, Integer> heap = newHeap();
+        assertFalse(heap.insertAll(List.of()));
+        assertTrue(heap.insertAll(entries.subList(0, 600)));
+        assertTrue(heap.insertAll(entries.subList(600, 610)));
+        assertTrue(heap.insertAll(entries.subList(590, 1_001)));
+        assertFalse(heap.insertAll(entries.subList(0, 10)));
+        assertEquals(1_000, heap.size());
+
+        assertEquals(expected.subList(0, 10), keys(entries, heap.topK(10)));
+        assertEquals(990, heap.size());
+        assertEquals(expected.subList(10, 1_000), keys(entries, heap.drainSorted()));
+        assertTrue(heap.isEmpty());
+        assertEquals(List.of(), heap.topK(5));
+    }
+
+    // 1000 entries with random keys for the elements 0 to 999, followed by a duplicate of element 500
+    static List<Heap.Entry<Integer, Integer>> entries() {
+        final Random random = new Random(7);
+        final List<Heap.Entry<Integer, Integer>> entries = new ArrayList<>();
+        for (int element = 0; element < 1_000; element++)
+            entries.add(new Heap.Entry<>(random.nextInt(10_000), element));
+        entries.add(new Heap.Entry<>(-1, 500));
+        return entries;
+    }
+
+    static List<Integer> sortedKeys(List<Heap.Entry<Integer, Integer>> entries) {
+        return entries.subList(0, 1_000).stream().map(Heap.Entry::key).sorted().toList();
+    }
+
+    static List<Integer> keys(List<Heap.Entry<Integer, Integer>> entries, List<Integer> elements) {
+        return elements.stream().map(element -> entries.get(element).key()).toList();
+    }
+
+    // compares the heap with a map of element to key over random inserts, removes, updates and tops
+    static void assertRandomOperations(Heap<Integer, Integer> heap) {
+        final Random random = new Random(42);
+        final Map<Integer, Integer> keys = new HashMap<>();
+        for (int operation = 0; operation < 20_000; operation++) {
+            final int element = random.nextInt(500);
+            final int key = random.nextInt(1_000);
+            switch (random.nextInt(4)) {
+                case 0 -> assertEquals(keys.putIfAbsent(element, key) == null, heap.insert(key, element));
+                case 1 -> assertEquals(keys.remove(element) != null, heap.remove(element));
+                case 2 -> {
+                    assertEquals(keys.containsKey(element), heap.update(element, key));
+                    keys.computeIfPresent(element, (e, k) -> key);
+                }
+                default -> {
+                    if (!keys.isEmpty()) {
+                        final int minimum = Collections.min(keys.values());
+                        assertEquals(minimum, keys.remove(heap.top()));
+                    }
+                }
+            }
+            assertEquals(keys.size(), heap.size());
+            assertEquals(keys.containsKey(element), heap.contains(element));
+        }
+    }
+}
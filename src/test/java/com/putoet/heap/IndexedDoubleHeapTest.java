@@ -0,0 +1,104 @@
+package com.putoet.heap;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndexedDoubleHeapTest extends HeapContractTest {
+    @Override
+    protected Heap<Integer, Integer> newHeap() {
+        return new HeapAdapter();
+    }
+
+    @Test
+    void create() {
+        assertThrows(AssertionError.class, () -> new IndexedDoubleHeap(-1));
+
+        final IndexedDoubleHeap heap = new IndexedDoubleHeap(5);
+        assertEquals(5, heap.capacity());
+        assertTrue(heap.isEmpty());
+        assertThrows(IllegalStateException.class, heap::peek);
+        assertThrows(IllegalStateException.class, heap::top);
+        assertThrows(IllegalArgumentException.class, () -> heap.insert(5, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> heap.key(0));
+    }
+
+    @Test
+    void operations() {
+        final IndexedDoubleHeap heap = new IndexedDoubleHeap(10);
+        assertTrue(heap.insert(3, 7.5));
+        assertTrue(heap.insert(1, 2.0));
+        assertTrue(heap.insert(7, 4.0));
+        assertTrue(heap.insert(0, 9.0));
+        assertFalse(heap.insert(7, 1.0));
+        assertEquals(4, heap.size());
+        assertEquals(1, heap.peek());
+        assertEquals(2.0, heap.peekKey());
+
+        assertTrue(heap.decreaseKey(0, 1.0));
+        assertFalse(heap.decreaseKey(3, 8.0));
+        assertFalse(heap.decreaseKey(5, 0.0));
+        assertEquals(1.0, heap.key(0));
+        assertTrue(heap.update(1, 10.0));
+        assertTrue(heap.remove(7));
+        assertFalse(heap.remove(7));
+        assertFalse(heap.contains(7));
+
+        assertEquals(0, heap.top());
+        assertEquals(3, heap.top());
+        assertEquals(1, heap.top());
+        assertTrue(heap.isEmpty());
+
+        heap.insert(4, 1.0);
+        heap.insert(2, 2.0);
+        heap.clear();
+        assertTrue(heap.isEmpty());
+        assertFalse(heap.contains(4));
+        assertTrue(heap.insert(4, 3.0));
+    }
+
+    // runs the heap contract on an IndexedDoubleHeap, elements are the indices and keys are stored as doubles
+    private static class HeapAdapter implements Heap<Integer, Integer> {
+        private final IndexedDoubleHeap heap = new IndexedDoubleHeap(1_000);
+
+        @Override
+        public Integer top() {
+            return heap.top();
+        }
+
+        @Override
+        public Integer peek() {
+            return heap.peek();
+        }
+
+        @Override
+        public boolean insert(Integer key, Integer element) {
+            return heap.insert(element, key);
+        }
+
+        @Override
+        public boolean remove(Integer element) {
+            return heap.remove(element);
+        }
+
+        @Override
+        public boolean update(Integer element, Integer updatedKey) {
+            return heap.update(element, updatedKey);
+        }
+
+        @Override
+        public boolean contains(Integer element) {
+            return heap.contains(element);
+        }
+
+        @Override
+        public int size() {
+            return heap.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return heap.isEmpty();
+        }
+    }
+}
@@ -3,11 +3,18 @@ package com.putoet.heap;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
-class MinHeapSetTest {
+class MinHeapSetTest extends HeapContractTest {
     private MinHeapSet<Integer, String> heap;
 
+    @Override
+    protected Heap<Integer, Integer> newHeap() {
+        return new MinHeapSet<>();
+    }
+
     @BeforeEach
     void setup() {
         heap = new MinHeapSet<>();
@@ -87,6 +94,15 @@ class MinHeapSetTest {
 
     }
 
+    @Test
+    void bulkConstructor() {
+        final List<Heap.Entry<Integer, Integer>> entries = entries();
+        final Heap<Integer, Integer> bulk = new MinHeapSet<>(entries);
+        assertEquals(1_000, bulk.size());
+        assertTrue(bulk.contains(500));
+        assertEquals(sortedKeys(entries), keys(entries, bulk.drainSorted()));
+    }
+
     private static MinHeapSet<Integer, String> testHeap() {
         final var heap = new MinHeapSet<Integer, String>();
 
@@ -103,4 +119,4 @@ class MinHeapSetTest {
 
         return heap;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,24 @@
+package com.putoet.heap;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PairingHeapTest extends HeapContractTest {
+    @Override
+    protected Heap<Integer, Integer> newHeap() {
+        return new PairingHeap<>();
+    }
+
+    @Test
+    void longSiblingList() {
+        // increasing keys leave every element as a child of the root, the first top pairs them all
+        final PairingHeap<Integer, Integer> heap = new PairingHeap<>();
+        for (int element = 0; element < 100_000; element++)
+            heap.insert(element, element);
+
+        for (int element = 0; element < 100_000; element++)
+            assertEquals(element, heap.top());
+        assertTrue(heap.isEmpty());
+    }
+}
@@ -0,0 +1,52 @@
+package com.putoet.maze;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BitGridTest {
+    @Test
+    void create() {
+        assertThrows(AssertionError.class, () -> new BitGrid(0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new BitGrid(Integer.MAX_VALUE, Integer.MAX_VALUE));
+    }
+
+    @Test
+    void blockAndMark() {
+        final BitGrid grid = new BitGrid(3, 70);
+        assertFalse(grid.blocked(2, 69));
+
+        grid.block(2, 69);
+        grid.block(0, 63);
+        assertTrue(grid.blocked(2, 69));
+        assertTrue(grid.blocked(0, 63));
+        assertFalse(grid.blocked(0, 64));
+        assertFalse(grid.blocked(1, 63));
+
+        grid.mark(2, 69);
+        assertTrue(grid.path(2, 69));
+        assertFalse(grid.blocked(2, 69));
+
+        grid.clear(2, 69);
+        assertFalse(grid.path(2, 69));
+        grid.unblock(0, 63);
+        assertFalse(grid.blocked(0, 63));
+    }
+
+    @Test
+    void randomlyBlock() {
+        final BitGrid grid = new BitGrid(10, 70);
+        assertEquals(32, grid.alignedRows());
+        assertEquals(1, new BitGrid(10, 128).alignedRows());
+
+        grid.randomlyBlock(2, 4, 1.0, new SplittableRandom(1));
+        for (int row = 0; row < 10; row++)
+            for (int column = 0; column < 70; column++)
+                assertEquals(row >= 2 && row < 4, grid.blocked(row, column));
+
+        grid.randomlyBlock(0, 10, 0.0, new SplittableRandom(1));
+        assertFalse(grid.blocked(0, 0));
+    }
+}
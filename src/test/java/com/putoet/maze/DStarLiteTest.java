@@ -0,0 +1,135 @@
+package com.putoet.maze;
+
+import com.putoet.search.GenericSearch;
+import com.putoet.search.SearchStats;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DStarLiteTest {
+    @Test
+    void create() {
+        final FixedMaze maze = new FixedMaze(List.of("S.", ".G"));
+        assertThrows(AssertionError.class, () -> new DStarLite(null, Maze.Location.of(0, 0), Maze.Location.of(1, 1)));
+        assertThrows(IllegalArgumentException.class, () -> new DStarLite(maze, Maze.Location.of(0, 0), Maze.Location.of(2, 1)));
+
+        final WeightedMaze diagonal = new WeightedMaze(List.of("S.", ".G"), true);
+        assertThrows(IllegalArgumentException.class, () -> new DStarLite(diagonal, diagonal.start(), diagonal.goal()));
+    }
+
+    @Test
+    void plan() {
+        final FixedMaze maze = new FixedMaze(List.of(
+                "S.#.......",
+                "..#.###.#.",
+                "..#...#.#.",
+                "....#.#..G"
+        ));
+        final DStarLite planner = new DStarLite(maze, Maze.Location.of(0, 0), Maze.Location.of(3, 9));
+        final Optional<GenericSearch.Node<Maze.Location>> result = planner.plan();
+        assertTrue(result.isPresent());
+        assertEquals(GenericSearch.bfs(Maze.Location.of(0, 0), maze::goalTest, maze::successors).orElseThrow().steps(),
+                result.get().steps());
+        assertValid(maze, result.get().path(), Maze.Location.of(0, 0), Maze.Location.of(3, 9));
+    }
+
+    @Test
+    void replan() {
+        final List<String> lines = new ArrayList<>();
+        for (int row = 0; row < 30; row++)
+            lines.add(".".repeat(30));
+        lines.set(0, "S" + ".".repeat(29));
+        lines.set(29, ".".repeat(29) + "G");
+        final FixedMaze maze = new FixedMaze(lines);
+        final Maze.Location start = Maze.Location.of(0, 0);
+        final Maze.Location goal = Maze.Location.of(29, 29);
+        final DStarLite planner = new DStarLite(maze, start, goal);
+
+        final SearchStats initial = new SearchStats();
+        assertEquals(58, planner.plan(initial).orElseThrow().steps());
+        assertTrue(initial.explored() > 58 && initial.explored() <= 900, initial::toString);
+
+        // wall off row 15 except a single gap
+        for (int column = 0; column < 30; column++) {
+            if (column != 3) {
+                maze.block(Maze.Location.of(15, column));
+                planner.update(Maze.Location.of(15, column));
+            }
+        }
+        assertConsistent(maze, planner, start, goal);
+
+        maze.block(Maze.Location.of(15, 3));
+        planner.update(Maze.Location.of(15, 3));
+        final SearchStats walledOff = new SearchStats();
+        assertTrue(planner.plan(walledOff).isEmpty());
+        // only the cells below the wall can reach the goal
+        assertEquals(14 * 30, walledOff.explored());
+
+        maze.unblock(Maze.Location.of(15, 3));
+        planner.update(Maze.Location.of(15, 3));
+        assertConsistent(maze, planner, start, goal);
+
+        // a single change close to the goal only repairs a small part of the search
+        final SearchStats repair = new SearchStats();
+        maze.block(Maze.Location.of(28, 29));
+        planner.update(Maze.Location.of(28, 29));
+        assertTrue(planner.plan(repair).isPresent());
+        assertTrue(repair.expanded() < initial.expanded(), repair + " vs " + initial);
+    }
+
+    @Test
+    void moveStart() {
+        final Random random = new Random(42);
+        for (int run = 0; run < 20; run++) {
+            final Maze.Location goal = Maze.Location.of(24, 24);
+            final RandomMaze maze = RandomMaze.builder()
+                    .rows(25).columns(25).goal(goal).sparseness(0.2).seed(run)
+                    .build();
+            Maze.Location start = Maze.Location.of(0, 0);
+            final DStarLite planner = new DStarLite(maze, start, goal);
+
+            Optional<GenericSearch.Node<Maze.Location>> result = assertConsistent(maze, planner, start, goal);
+            while (result.isPresent() && !start.equals(goal)) {
+                // walk one step, then change a random cell off the current position and replan
+                start = result.get().path().get(1);
+                planner.moveStart(start);
+
+                final Maze.Location changed = Maze.Location.of(random.nextInt(25), random.nextInt(25));
+                if (!changed.equals(start) && !changed.equals(goal) && !changed.equals(Maze.Location.of(0, 0))) {
+                    if (maze.blocked(changed.row(), changed.column()))
+                        maze.unblock(changed);
+                    else
+                        maze.block(changed);
+                    planner.update(changed);
+                }
+                result = assertConsistent(maze, planner, start, goal);
+            }
+        }
+    }
+
+    private static Optional<GenericSearch.Node<Maze.Location>> assertConsistent(Maze<?> maze, DStarLite planner,
+                                                                                Maze.Location from, Maze.Location to) {
+        final Optional<GenericSearch.Node<Maze.Location>> expected = GenericSearch.bfs(from, to::equals, maze::successors);
+        final Optional<GenericSearch.Node<Maze.Location>> result = planner.plan();
+        assertEquals(expected.isPresent(), result.isPresent(), () -> from + " -> " + to + System.lineSeparator() + maze);
+        result.ifPresent(node -> {
+            assertEquals(expected.get().steps(), node.steps(), () -> from + " -> " + to + System.lineSeparator() + maze);
+            assertValid(maze, node.path(), from, to);
+        });
+        return result;
+    }
+
+    private static void assertValid(Maze<?> maze, List<Maze.Location> path, Maze.Location from, Maze.Location to) {
+        assertEquals(from, path.get(0));
+        assertEquals(to, path.get(path.size() - 1));
+        for (int idx = 1; idx < path.size(); idx++) {
+            assertFalse(maze.blocked(path.get(idx).row(), path.get(idx).column()));
+            assertEquals(1.0, Maze.manhattanDistance(path.get(idx - 1), path.get(idx)));
+        }
+    }
+}
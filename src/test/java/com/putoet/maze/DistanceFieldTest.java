@@ -0,0 +1,76 @@
+package com.putoet.maze;
+
+import com.putoet.search.GenericSearch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DistanceFieldTest {
+    private FixedMaze maze;
+
+    @BeforeEach
+    void setup() {
+        maze = new FixedMaze(List.of(
+                "###########",
+                "#S........#",
+                "#.#######.#",
+                "#.#.....#.#",
+                "#.#.###.#.#",
+                "#.......#G#",
+                "###########"
+        ));
+    }
+
+    @Test
+    void singleSource() {
+        final Maze.Location goal = Maze.Location.of(5, 9);
+        final DistanceField field = DistanceField.of(maze, goal);
+
+        for (int row = 0; row < maze.rows(); row++) {
+            for (int column = 0; column < maze.columns(); column++) {
+                final Maze.Location from = Maze.Location.of(row, column);
+                if (maze.blocked(row, column)) {
+                    assertFalse(field.reachable(from));
+                    continue;
+                }
+
+                final Optional<GenericSearch.Node<Maze.Location>> expected =
+                        GenericSearch.bfs(from, goal::equals, maze::successors);
+                assertEquals(expected.map(GenericSearch.Node::steps).orElse(DistanceField.UNREACHABLE), field.distance(from));
+            }
+        }
+        assertEquals(12, field.distance(Maze.Location.of(1, 1)));
+        assertEquals(field.distance(Maze.Location.of(1, 1)), field.distances()[maze.index(Maze.Location.of(1, 1))]);
+    }
+
+    @Test
+    void multiSource() {
+        final DistanceField field = DistanceField.of(maze,
+                List.of(Maze.Location.of(1, 1), Maze.Location.of(5, 9), Maze.Location.of(0, 0)));
+        assertEquals(0, field.distance(Maze.Location.of(1, 1)));
+        assertEquals(0, field.distance(Maze.Location.of(5, 9)));
+        assertEquals(4, field.distance(Maze.Location.of(1, 9)));
+        assertEquals(DistanceField.UNREACHABLE, field.distance(Maze.Location.of(0, 0)));
+
+        field.compute(List.of(Maze.Location.of(1, 1)));
+        assertEquals(8, field.distance(Maze.Location.of(1, 9)));
+        assertThrows(IllegalArgumentException.class, () -> field.compute(List.of(Maze.Location.of(7, 0))));
+    }
+
+    @Test
+    void pathFrom() {
+        final DistanceField field = DistanceField.of(maze, Maze.Location.of(5, 9));
+        final List<Maze.Location> path = field.pathFrom(Maze.Location.of(1, 1));
+        assertEquals(13, path.size());
+        assertEquals(Maze.Location.of(1, 1), path.get(0));
+        assertEquals(Maze.Location.of(5, 9), path.get(path.size() - 1));
+        for (int idx = 1; idx < path.size(); idx++)
+            assertTrue(maze.successors(path.get(idx - 1)).contains(path.get(idx)));
+
+        assertEquals(List.of(), field.pathFrom(Maze.Location.of(0, 0)));
+    }
+}
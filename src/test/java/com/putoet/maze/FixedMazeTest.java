@@ -40,4 +40,43 @@ class FixedMazeTest {
         assertTrue(result.isPresent());
         assertEquals(Maze.Location.of(3, 9), result.get().state);
     }
-}
\ No newline at end of file
+
+    @Test
+    void cells() {
+        assertEquals(FixedMaze.Cell.START, maze.cell(Maze.Location.of(1, 1)));
+        assertEquals(FixedMaze.Cell.GOAL, maze.cell(Maze.Location.of(3, 9)));
+        assertEquals(FixedMaze.Cell.BLOCKED, maze.cell(Maze.Location.of(2, 2)));
+        assertEquals(FixedMaze.Cell.EMPTY, maze.cell(Maze.Location.of(1, 2)));
+        assertTrue(maze.blocked(0, 0));
+        assertFalse(maze.blocked(1, 1));
+        assertEquals(Optional.of(Maze.Location.of(3, 9)), maze.locate(cell -> cell == FixedMaze.Cell.GOAL));
+
+        final List<Maze.Location> path = List.of(Maze.Location.of(1, 1), Maze.Location.of(1, 2));
+        maze.mark(path);
+        assertEquals(FixedMaze.Cell.START, maze.cell(Maze.Location.of(1, 1)));
+        assertEquals(FixedMaze.Cell.PATH, maze.cell(Maze.Location.of(1, 2)));
+        maze.clear(path);
+        assertEquals(FixedMaze.Cell.EMPTY, maze.cell(Maze.Location.of(1, 2)));
+
+        assertEquals(String.join(System.lineSeparator(), mazeText).replace('S', '0') + System.lineSeparator(),
+                maze.toString());
+    }
+
+    @Test
+    void indexSuccessors() {
+        final int[] buffer = new int[8];
+        for (int row = 0; row < maze.rows(); row++) {
+            for (int column = 0; column < maze.columns(); column++) {
+                final Maze.Location location = Maze.Location.of(row, column);
+                final int index = maze.index(location);
+                assertEquals(location, maze.location(index));
+
+                final int count = maze.successors(index, buffer);
+                final List<Maze.Location> expected = maze.successors(location);
+                assertEquals(expected.size(), count);
+                for (int idx = 0; idx < count; idx++)
+                    assertEquals(expected.get(idx), maze.location(buffer[idx]));
+            }
+        }
+    }
+}
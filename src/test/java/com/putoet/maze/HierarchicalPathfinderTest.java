@@ -0,0 +1,89 @@
+package com.putoet.maze;
+
+import com.putoet.search.GenericSearch;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HierarchicalPathfinderTest {
+    @Test
+    void create() {
+        final FixedMaze maze = new FixedMaze(List.of("S.", ".G"));
+        assertThrows(AssertionError.class, () -> new HierarchicalPathfinder(null, 8));
+        assertThrows(AssertionError.class, () -> new HierarchicalPathfinder(maze, 1));
+    }
+
+    @Test
+    void find() {
+        final Random random = new Random(42);
+        for (int run = 0; run < 20; run++) {
+            final Maze.Location start = Maze.Location.of(0, 0);
+            final Maze.Location goal = Maze.Location.of(39, 39);
+            final RandomMaze maze = RandomMaze.builder()
+                    .rows(40).columns(40).start(start).goal(goal).sparseness(0.25).seed(run)
+                    .build();
+            final HierarchicalPathfinder pathfinder = new HierarchicalPathfinder(maze, 8);
+
+            for (int query = 0; query < 10; query++) {
+                final Maze.Location from = Maze.Location.of(random.nextInt(40), random.nextInt(40));
+                final Maze.Location to = Maze.Location.of(random.nextInt(40), random.nextInt(40));
+                assertConsistent(maze, pathfinder, from, to);
+            }
+        }
+    }
+
+    @Test
+    void refresh() {
+        final List<String> lines = new ArrayList<>();
+        for (int row = 0; row < 20; row++)
+            lines.add(".".repeat(20));
+        lines.set(0, "S" + ".".repeat(19));
+        lines.set(19, ".".repeat(19) + "G");
+        final FixedMaze maze = new FixedMaze(lines);
+        final HierarchicalPathfinder pathfinder = new HierarchicalPathfinder(maze, 5);
+        final Maze.Location start = Maze.Location.of(0, 0);
+        final Maze.Location goal = Maze.Location.of(19, 19);
+        assertEquals(38, pathfinder.find(start, goal).orElseThrow().steps());
+
+        // wall off row 10 except a single gap, refreshing only the changed cells
+        for (int column = 0; column < 20; column++) {
+            if (column != 17) {
+                maze.block(Maze.Location.of(10, column));
+                pathfinder.refresh(Maze.Location.of(10, column));
+            }
+        }
+        final Optional<GenericSearch.Node<Maze.Location>> result = pathfinder.find(start, goal);
+        assertTrue(result.isPresent());
+        assertTrue(result.get().path().contains(Maze.Location.of(10, 17)));
+        assertConsistent(maze, pathfinder, start, goal);
+
+        maze.block(Maze.Location.of(10, 17));
+        pathfinder.refresh(Maze.Location.of(10, 17));
+        assertTrue(pathfinder.find(start, goal).isEmpty());
+
+        maze.unblock(Maze.Location.of(10, 3));
+        pathfinder.refresh(Maze.Location.of(10, 3));
+        assertConsistent(maze, pathfinder, start, goal);
+    }
+
+    private static void assertConsistent(Maze<?> maze, HierarchicalPathfinder pathfinder, Maze.Location from, Maze.Location to) {
+        final Optional<GenericSearch.Node<Maze.Location>> expected = maze.blocked(from.row(), from.column()) ?
+                Optional.empty() : GenericSearch.bfs(from, to::equals, maze::successors);
+        final Optional<GenericSearch.Node<Maze.Location>> result = pathfinder.find(from, to);
+        assertEquals(expected.isPresent(), result.isPresent(), () -> from + " -> " + to + System.lineSeparator() + maze);
+        if (result.isEmpty())
+            return;
+
+        final List<Maze.Location> path = result.get().path();
+        assertEquals(from, path.get(0));
+        assertEquals(to, path.get(path.size() - 1));
+        for (int idx = 1; idx < path.size(); idx++)
+            assertTrue(maze.successors(path.get(idx - 1)).contains(path.get(idx)));
+        assertTrue(path.size() - 1 >= expected.get().steps());
+    }
+}
@@ -0,0 +1,80 @@
+package com.putoet.maze;
+
+import com.putoet.search.GenericSearch;
+import com.putoet.search.SearchStats;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JumpPointSearchTest {
+    @Test
+    void find() {
+        final FixedMaze maze = new FixedMaze(List.of(
+                "###########",
+                "#S........#",
+                "#.#######.#",
+                "#........G#",
+                "###########"
+        ));
+        final Maze.Location start = Maze.Location.of(1, 1);
+        final Maze.Location goal = Maze.Location.of(3, 9);
+
+        final Optional<GenericSearch.Node<Maze.Location>> result = JumpPointSearch.find(maze, start, goal);
+        assertTrue(result.isPresent());
+        assertEquals(10, result.get().steps());
+
+        final List<Maze.Location> path = result.get().path();
+        assertEquals(start, path.get(0));
+        assertEquals(goal, path.get(path.size() - 1));
+        for (int idx = 1; idx < path.size(); idx++)
+            assertTrue(maze.successors(path.get(idx - 1)).contains(path.get(idx)));
+
+        assertTrue(JumpPointSearch.find(maze, start, Maze.Location.of(0, 0)).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> JumpPointSearch.find(maze, start, Maze.Location.of(5, 0)));
+    }
+
+    @Test
+    void sameLengthAsAstar() {
+        for (int run = 0; run < 50; run++) {
+            final Maze.Location start = Maze.Location.of(0, 0);
+            final Maze.Location goal = Maze.Location.of(29, 29);
+            final RandomMaze maze = RandomMaze.builder()
+                    .rows(30).columns(30).start(start).goal(goal).sparseness(0.3).seed(run)
+                    .build();
+
+            final Optional<GenericSearch.Node<Maze.Location>> expected =
+                    GenericSearch.astar(start, maze::goalTest, maze::successors, maze::manhattanDistance);
+            final Optional<GenericSearch.Node<Maze.Location>> result = JumpPointSearch.find(maze, start, goal);
+            assertEquals(expected.isPresent(), result.isPresent(), maze::toString);
+            if (expected.isPresent())
+                assertEquals(expected.get().steps(), result.get().steps(), maze::toString);
+        }
+    }
+
+    @Test
+    void openGrid() {
+        final List<String> lines = new ArrayList<>();
+        for (int row = 0; row < 200; row++)
+            lines.add(".".repeat(200));
+        lines.set(0, "S" + ".".repeat(199));
+        lines.set(199, ".".repeat(199) + "G");
+        final FixedMaze maze = new FixedMaze(lines);
+        final Maze.Location start = Maze.Location.of(0, 0);
+        final Maze.Location goal = Maze.Location.of(199, 199);
+
+        final SearchStats astar = new SearchStats();
+        final SearchStats jps = new SearchStats();
+        final Optional<GenericSearch.Node<Maze.Location>> expected =
+                GenericSearch.astar(start, maze::goalTest, maze::successors, maze::manhattanDistance, astar);
+        final Optional<GenericSearch.Node<Maze.Location>> result = JumpPointSearch.find(maze, start, goal, jps);
+
+        assertTrue(expected.isPresent());
+        assertTrue(result.isPresent());
+        assertEquals(expected.get().steps(), result.get().steps());
+        assertTrue(jps.expanded() * 10 < astar.expanded(), () -> "A* " + astar + ", JPS " + jps);
+    }
+}
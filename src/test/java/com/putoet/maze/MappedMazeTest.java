@@ -0,0 +1,95 @@
+package com.putoet.maze;
+
+import com.putoet.search.GenericSearch;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedMazeTest {
+    private final List<String> mazeText = List.of(
+            "###########",
+            "#S........#",
+            "#.#######.#",
+            "#........G#",
+            "###########"
+    );
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void create() throws IOException {
+        final MappedMaze maze = new MappedMaze(write("\n", true));
+        assertEquals(5, maze.rows());
+        assertEquals(11, maze.columns());
+        assertEquals(Maze.Location.of(1, 1), maze.start());
+        assertEquals(Maze.Location.of(3, 9), maze.goal());
+        assertEquals(new FixedMaze(mazeText).toString(), maze.toString());
+
+        assertEquals(11, new MappedMaze(write("\r\n", true)).columns());
+        assertEquals(5, new MappedMaze(write("\r\n", false)).rows());
+
+        final Path ragged = directory.resolve("ragged.txt");
+        Files.writeString(ragged, "S.\n..G\n");
+        assertThrows(IllegalArgumentException.class, () -> new MappedMaze(ragged));
+
+        // same size as three rows of three, but the rows have different lengths
+        final Path sameSize = directory.resolve("same-size.txt");
+        Files.writeString(sameSize, "S..\n.#\n..G.\n");
+        assertThrows(IllegalArgumentException.class,
+                () -> new MappedMaze(sameSize, Maze.Location.of(0, 0), Maze.Location.of(2, 2)));
+        final Path sameSizeCrLf = directory.resolve("same-size-crlf.txt");
+        Files.writeString(sameSizeCrLf, "S..\r\n.\r\n..G..\r\n");
+        assertThrows(IllegalArgumentException.class,
+                () -> new MappedMaze(sameSizeCrLf, Maze.Location.of(0, 0), Maze.Location.of(2, 2)));
+
+        // rows longer than a segment
+        assertThrows(IllegalArgumentException.class,
+                () -> new MappedMaze(write("\n", true), Maze.Location.of(1, 1), Maze.Location.of(3, 9), 8));
+
+        final Path noGoal = directory.resolve("no-goal.txt");
+        Files.writeString(noGoal, "S.\n..\n");
+        assertThrows(IllegalArgumentException.class, () -> new MappedMaze(noGoal));
+    }
+
+    @Test
+    void solve() throws IOException {
+        final FixedMaze fixed = new FixedMaze(mazeText);
+        // a tiny segment size forces every row into its own mapping
+        final MappedMaze maze = new MappedMaze(write("\n", true), Maze.Location.of(1, 1), Maze.Location.of(3, 9), 12);
+
+        final Maze.Location start = Maze.Location.of(1, 1);
+        for (int row = 0; row < maze.rows(); row++)
+            for (int column = 0; column < maze.columns(); column++)
+                assertEquals(fixed.cell(Maze.Location.of(row, column)), maze.cell(Maze.Location.of(row, column)));
+
+        final int[] expectedBuffer = new int[8];
+        final int[] buffer = new int[8];
+        for (int index = 0; index < maze.rows() * maze.columns(); index++) {
+            final int count = maze.successors(index, buffer);
+            assertEquals(fixed.successors(index, expectedBuffer), count);
+            for (int idx = 0; idx < count; idx++)
+                assertEquals(expectedBuffer[idx], buffer[idx]);
+        }
+
+        final Optional<GenericSearch.Node<Maze.Location>> expected =
+                GenericSearch.astar(start, fixed::goalTest, fixed::successors, fixed::manhattanDistance);
+        final Optional<GenericSearch.Node<Maze.Location>> result =
+                GenericSearch.astar(start, maze::goalTest, maze::successors, maze::manhattanDistance);
+        assertTrue(result.isPresent());
+        assertEquals(expected.orElseThrow().path(), result.get().path());
+    }
+
+    private Path write(String separator, boolean trailing) throws IOException {
+        final Path path = directory.resolve("maze-" + separator.length() + "-" + trailing + ".txt");
+        Files.writeString(path, String.join(separator, mazeText) + (trailing ? separator : ""));
+        return path;
+    }
+}
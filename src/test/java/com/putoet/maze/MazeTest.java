@@ -13,6 +13,14 @@ class MazeTest {
         assertEquals("(3,7)", Maze.Location.of(7, 3).toString());
     }
 
+    @Test
+    void encodeMazeLocation() {
+        final Maze.Location location = Maze.Location.of(7, 3);
+        assertEquals(location, Maze.Location.decode(location.encode()));
+        assertEquals(Maze.Location.of(Integer.MAX_VALUE, Integer.MAX_VALUE),
+                Maze.Location.decode(Maze.Location.of(Integer.MAX_VALUE, Integer.MAX_VALUE).encode()));
+    }
+
     @Test
     void manhattanDistance() {
         assertEquals(8.0, Maze.manhattanDistance(Maze.Location.of(1, 3), Maze.Location.of(5, 7)));
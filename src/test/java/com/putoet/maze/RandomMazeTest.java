@@ -0,0 +1,54 @@
+package com.putoet.maze;
+
+import com.putoet.search.GenericSearch;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RandomMazeTest {
+    @Test
+    void builder() {
+        final RandomMaze maze = RandomMaze.builder().rows(20).columns(30).sparseness(0.3).seed(7L).build();
+        assertEquals(20, maze.rows());
+        assertEquals(30, maze.columns());
+        assertEquals(RandomMaze.Cell.START, maze.cell(Maze.Location.of(0, 0)));
+        assertEquals(RandomMaze.Cell.GOAL, maze.cell(Maze.Location.of(19, 29)));
+
+        assertThrows(AssertionError.class, () -> RandomMaze.builder().rows(0).build());
+        assertThrows(AssertionError.class, () -> RandomMaze.builder().sparseness(1.5).build());
+        assertThrows(IllegalArgumentException.class, () -> RandomMaze.builder().goal(Maze.Location.of(10, 10)).build());
+    }
+
+    @Test
+    void seeded() {
+        final RandomMaze.Builder builder = RandomMaze.builder().rows(50).columns(50).sparseness(0.3).seed(42L);
+        assertEquals(builder.build().toString(), builder.build().toString());
+        assertNotEquals(builder.build().toString(), builder.seed(43L).build().toString());
+    }
+
+    @Test
+    void parallel() {
+        final RandomMaze.Builder builder = RandomMaze.builder().rows(1000).columns(777).sparseness(0.4).seed(42L);
+        final RandomMaze sequential = builder.parallel(false).build();
+        final RandomMaze parallel = builder.parallel(true).build();
+        assertEquals(sequential.toString(), parallel.toString());
+
+        int blocked = 0;
+        for (int row = 0; row < sequential.rows(); row++)
+            for (int column = 0; column < sequential.columns(); column++)
+                if (sequential.blocked(row, column))
+                    blocked++;
+        assertEquals(0.4, blocked / (1000.0 * 777.0), 0.01);
+    }
+
+    @Test
+    void solvable() {
+        for (long seed = 0; seed < 20; seed++) {
+            final Maze.Location start = Maze.Location.of(35, 3);
+            final Maze.Location goal = Maze.Location.of(2, 38);
+            final RandomMaze maze = RandomMaze.builder().rows(40).columns(40).start(start).goal(goal)
+                    .sparseness(0.6).seed(seed).solvable(true).build();
+            assertTrue(GenericSearch.bfs(start, maze::goalTest, maze::successors).isPresent(), maze::toString);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.putoet.maze;
+
+import com.putoet.search.GenericSearch;
+import com.putoet.search.SearchStats;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WeightedMazeTest {
+    private static final List<String> TERRAIN = List.of(
+            "S..99....",
+            "..#99.#..",
+            "..#99.#..",
+            "..#...#..",
+            ".....5..G"
+    );
+
+    @Test
+    void create() {
+        assertThrows(AssertionError.class, () -> new WeightedMaze(null));
+        assertThrows(IllegalArgumentException.class, () -> new WeightedMaze(List.of("S.x", "..G")));
+        assertThrows(IllegalArgumentException.class, () -> new WeightedMaze(List.of("S..", "...")));
+        assertThrows(IllegalArgumentException.class, () -> new WeightedMaze(List.of("S..", "..G.")));
+
+        final WeightedMaze maze = new WeightedMaze(TERRAIN);
+        assertEquals(Maze.Location.of(0, 0), maze.start());
+        assertEquals(Maze.Location.of(4, 8), maze.goal());
+        assertEquals(9, maze.cell(Maze.Location.of(0, 3)));
+        assertEquals(WeightedMaze.BLOCKED, maze.cell(Maze.Location.of(1, 2)));
+        assertEquals(String.join(System.lineSeparator(), TERRAIN) + System.lineSeparator(), maze.toString());
+    }
+
+    @Test
+    void successors() {
+        final WeightedMaze maze = new WeightedMaze(TERRAIN, true);
+        assertEquals(List.of(Maze.Location.of(1, 0), Maze.Location.of(0, 1), Maze.Location.of(1, 1)),
+                maze.successors(Maze.Location.of(0, 0)));
+
+        // no corner cutting past the blocked cell at (1, 2)
+        assertFalse(maze.successors(Maze.Location.of(0, 1)).contains(Maze.Location.of(1, 2)));
+        assertFalse(maze.successors(Maze.Location.of(1, 1)).contains(Maze.Location.of(2, 2)));
+        assertFalse(maze.successors(Maze.Location.of(0, 2)).contains(Maze.Location.of(1, 1)));
+
+        assertEquals(4, new WeightedMaze(TERRAIN).successors(Maze.Location.of(3, 4)).size());
+    }
+
+    @Test
+    void indexSuccessors() {
+        // the index successors are the same moves, in the same order, as the location ones
+        final int[] buffer = new int[8];
+        for (WeightedMaze maze : List.of(new WeightedMaze(TERRAIN), new WeightedMaze(TERRAIN, true),
+                new WeightedMaze(List.of("S..", "...", "..G"), true))) {
+            for (int index = 0; index < maze.rows() * maze.columns(); index++) {
+                final int count = maze.successors(index, buffer);
+                final List<Maze.Location> locations = new ArrayList<>();
+                for (int idx = 0; idx < count; idx++)
+                    locations.add(maze.location(buffer[idx]));
+                assertEquals(maze.successors(maze.location(index)), locations);
+            }
+        }
+
+        final WeightedMaze open = new WeightedMaze(List.of("S..", "...", "..G"), true);
+        assertEquals(8, open.successors(open.index(Maze.Location.of(1, 1)), buffer));
+        assertEquals(2, DistanceField.of(open, open.start()).distance(open.goal()));
+    }
+
+    @Test
+    void cost() {
+        final WeightedMaze maze = new WeightedMaze(TERRAIN, true);
+        assertEquals(9.0, maze.cost(Maze.Location.of(0, 2), Maze.Location.of(0, 3)));
+        assertEquals(Math.sqrt(2.0), maze.cost(Maze.Location.of(0, 0), Maze.Location.of(1, 1)));
+        assertThrows(IllegalArgumentException.class, () -> maze.cost(Maze.Location.of(0, 0), Maze.Location.of(0, 2)));
+        assertThrows(IllegalArgumentException.class, () -> maze.cost(Maze.Location.of(0, 2), Maze.Location.of(1, 2)));
+        assertThrows(IllegalArgumentException.class,
+                () -> new WeightedMaze(TERRAIN).cost(Maze.Location.of(0, 0), Maze.Location.of(1, 1)));
+    }
+
+    @Test
+    void astar() {
+        final WeightedMaze maze = new WeightedMaze(TERRAIN);
+        final GenericSearch.Node<Maze.Location> result = GenericSearch.astar(maze.start(), maze::goalTest,
+                maze::successors, maze::cost, maze::heuristic).orElseThrow();
+
+        // around the 9s, paying for the 5 in row 4 which is cheaper than a detour
+        assertEquals(16.0, result.cost, 1e-9);
+        assertEquals(12, result.steps());
+
+        final WeightedMaze diagonal = new WeightedMaze(TERRAIN, true);
+        final GenericSearch.Node<Maze.Location> shortcut = GenericSearch.astar(diagonal.start(), diagonal::goalTest,
+                diagonal::successors, diagonal::cost, diagonal::heuristic).orElseThrow();
+        assertTrue(shortcut.cost < result.cost);
+        assertEquals(dijkstra(diagonal), shortcut.cost, 1e-9);
+    }
+
+    @Test
+    void octileHeuristic() {
+        final Random random = new Random(42);
+        for (int run = 0; run < 20; run++) {
+            final List<String> lines = new ArrayList<>();
+            for (int row = 0; row < 40; row++) {
+                final StringBuilder sb = new StringBuilder();
+                for (int column = 0; column < 40; column++) {
+                    final int pick = random.nextInt(10);
+                    sb.append(pick < 2 ? '#' : pick < 7 ? '.' : (char) ('1' + random.nextInt(9)));
+                }
+                lines.add(sb.toString());
+            }
+            lines.set(0, "S" + lines.get(0).substring(1));
+            lines.set(39, lines.get(39).substring(0, 39) + "G");
+            final WeightedMaze maze = new WeightedMaze(lines, true);
+
+            final SearchStats octile = new SearchStats();
+            final SearchStats uninformed = new SearchStats();
+            final var expected = GenericSearch.astar(maze.start(), maze::goalTest, maze::successors, maze::cost,
+                    location -> 0.0, 1.0, uninformed);
+            final var result = GenericSearch.astar(maze.start(), maze::goalTest, maze::successors, maze::cost,
+                    maze::octileDistance, 1.0, octile);
+            assertEquals(expected.isPresent(), result.isPresent());
+            if (result.isPresent()) {
+                assertEquals(expected.get().cost, result.get().cost, 1e-9);
+                assertTrue(octile.expanded() <= uninformed.expanded());
+            }
+        }
+    }
+
+    @Test
+    void octileDistance() {
+        assertEquals(3 + 2 * (Math.sqrt(2.0) - 1), Maze.octileDistance(Maze.Location.of(0, 0), Maze.Location.of(2, 3)), 1e-9);
+        assertEquals(0.0, Maze.octileDistance(Maze.Location.of(4, 4), Maze.Location.of(4, 4)));
+    }
+
+    private static double dijkstra(WeightedMaze maze) {
+        return GenericSearch.astar(maze.start(), maze::goalTest, maze::successors, maze::cost, location -> 0.0)
+                .orElseThrow().cost;
+    }
+}
@@ -1,12 +1,22 @@
 package com.putoet.search;
 
+import com.putoet.maze.FixedMaze;
 import com.putoet.maze.Maze;
 import com.putoet.maze.RandomMaze;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleBiFunction;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -19,7 +29,8 @@ class GenericSearchTest {
     void setup() {
         start = Maze.Location.of(0, 0);
         goal = Maze.Location.of(9, 9);
-        maze = new RandomMaze(10, 10, start, goal, 0.2);
+        maze = RandomMaze.builder().rows(10).columns(10).start(start).goal(goal).sparseness(0.2)
+                .seed(20200101L).solvable(true).build();
     }
 
     @Test
@@ -67,6 +78,35 @@ class GenericSearchTest {
         assertEquals(0, equalNode.compareTo(smallerNode));
     }
 
+    @Test
+    void nodePath() {
+        GenericSearch.Node<Integer> node = new GenericSearch.Node<>(0, null);
+        assertEquals(0, node.depth);
+        assertEquals(List.of(0), node.path());
+
+        for (int state = 1; state <= 100_000; state++) {
+            node = new GenericSearch.Node<>(state, node);
+        }
+        assertEquals(100_000, node.depth);
+        assertEquals(100_000, node.steps());
+
+        final List<Integer> path = node.path();
+        assertEquals(100_001, path.size());
+        assertEquals(0, path.get(0));
+        assertEquals(100_000, path.get(path.size() - 1));
+
+        final Iterator<Integer> reversed = node.reversedPath().iterator();
+        assertEquals(100_000, reversed.next());
+        assertEquals(99_999, reversed.next());
+
+        final Integer[] array = node.pathArray(Integer[]::new);
+        assertEquals(path, List.of(array));
+
+        final long[] longs = node.pathAsLongs(Integer::longValue);
+        assertEquals(100_001, longs.length);
+        assertEquals(12_345L, longs[12_345]);
+    }
+
     @Test
     void dfs() {
         final Optional<GenericSearch.Node<Maze.Location>> result = GenericSearch.dfs(start, maze::goalTest, maze::successors);
@@ -121,4 +161,253 @@ class GenericSearchTest {
         System.out.println("Path is " + path);
         System.out.println("Steps is " + result.get().steps());
     }
-}
\ No newline at end of file
+
+    @Test
+    void bidirectionalBfs() {
+        final Optional<GenericSearch.Node<Maze.Location>> expected = GenericSearch.bfs(start, maze::goalTest, maze::successors);
+        final Optional<GenericSearch.Node<Maze.Location>> result =
+                GenericSearch.bidirectionalBfs(start, goal, maze::successors, maze::successors);
+        assertEquals(expected.isPresent(), result.isPresent());
+        if (result.isEmpty())
+            return;
+
+        final List<Maze.Location> path = GenericSearch.nodeToPath(result.get());
+        assertEquals(start, path.get(0));
+        assertEquals(goal, path.get(path.size() - 1));
+        assertEquals(expected.get().steps(), result.get().steps());
+        for (int i = 1; i < path.size(); i++)
+            assertTrue(maze.successors(path.get(i - 1)).contains(path.get(i)));
+
+        assertEquals(List.of(start), GenericSearch.nodeToPath(
+                GenericSearch.bidirectionalBfs(start, start, maze::successors, maze::successors).orElseThrow()));
+    }
+
+    @Test
+    void idaStar() {
+        final FixedMaze fixedMaze = new FixedMaze(List.of(
+                "##########",
+                "#S...#...#",
+                "#.##.#.#.#",
+                "#.#..#.#.#",
+                "#.#.##.#.#",
+                "#......#G#",
+                "##########"
+        ));
+        final Maze.Location from = Maze.Location.of(1, 1);
+        final Optional<GenericSearch.Node<Maze.Location>> expected =
+                GenericSearch.astar(from, fixedMaze::goalTest, fixedMaze::successors, fixedMaze::manhattanDistance);
+        final Optional<GenericSearch.Node<Maze.Location>> result =
+                GenericSearch.idaStar(from, fixedMaze::goalTest, fixedMaze::successors, fixedMaze::manhattanDistance);
+        assertTrue(expected.isPresent());
+        assertTrue(result.isPresent());
+        assertEquals(expected.get().steps(), result.get().steps());
+        assertEquals(from, GenericSearch.nodeToPath(result.get()).get(0));
+        assertTrue(fixedMaze.goalTest(result.get().state));
+
+        final FixedMaze closed = new FixedMaze(List.of("S#G"));
+        assertTrue(GenericSearch.idaStar(Maze.Location.of(0, 0), closed::goalTest, closed::successors,
+                closed::manhattanDistance).isEmpty());
+    }
+
+    @Test
+    void astarWithStepCost() {
+        // a -> b -> d is shorter in steps, a -> c -> e -> d is cheaper
+        final Map<String, Map<String, Double>> graph = Map.of(
+                "a", Map.of("b", 10.0, "c", 1.0),
+                "b", Map.of("d", 10.0),
+                "c", Map.of("e", 1.0),
+                "e", Map.of("d", 1.0),
+                "d", Map.of()
+        );
+        final Function<String, List<String>> successors = state -> List.copyOf(graph.get(state).keySet());
+        final ToDoubleBiFunction<String, String> stepCost = (from, to) -> graph.get(from).get(to);
+
+        final Optional<GenericSearch.Node<String>> result =
+                GenericSearch.astar("a", "d"::equals, successors, stepCost, state -> 0.0);
+        assertTrue(result.isPresent());
+        assertEquals(List.of("a", "c", "e", "d"), result.get().path());
+        assertEquals(3.0, result.get().cost);
+
+        final Optional<GenericSearch.Node<String>> unit = GenericSearch.astar("a", "d"::equals, successors, state -> 0.0);
+        assertTrue(unit.isPresent());
+        assertEquals(List.of("a", "b", "d"), unit.get().path());
+    }
+
+    @Test
+    void weightedAstar() {
+        final Optional<GenericSearch.Node<Maze.Location>> optimal =
+                GenericSearch.astar(start, maze::goalTest, maze::successors, maze::manhattanDistance);
+        final Optional<GenericSearch.Node<Maze.Location>> result =
+                GenericSearch.astar(start, maze::goalTest, maze::successors, (from, to) -> 1.0, maze::manhattanDistance, 2.0);
+        assertEquals(optimal.isPresent(), result.isPresent());
+        if (result.isEmpty())
+            return;
+
+        assertEquals(goal, result.get().state);
+        assertTrue(result.get().cost <= 2.0 * optimal.get().cost);
+        assertEquals(result.get().steps(), result.get().cost);
+    }
+
+    @Test
+    void parallelBfs() {
+        final Optional<GenericSearch.Node<Maze.Location>> expected = GenericSearch.bfs(start, maze::goalTest, maze::successors);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final Optional<GenericSearch.Node<Maze.Location>> result =
+                    GenericSearch.parallelBfs(start, maze::goalTest, maze::successors, pool);
+            assertEquals(expected.isPresent(), result.isPresent());
+            expected.ifPresent(node -> assertEquals(node.path(), result.get().path()));
+        } finally {
+            pool.shutdown();
+        }
+
+        final Optional<GenericSearch.Node<Maze.Location>> common =
+                GenericSearch.parallelBfs(start, maze::goalTest, maze::successors);
+        assertEquals(expected.map(GenericSearch.Node::path), common.map(GenericSearch.Node::path));
+    }
+
+    @Test
+    void streamAll() {
+        final Predicate<Maze.Location> lastRow = location -> location.row() == 9;
+        final List<GenericSearch.Node<Maze.Location>> all = GenericSearch.findAll(start, lastRow, maze::successors);
+
+        try (Stream<GenericSearch.Node<Maze.Location>> stream = GenericSearch.streamAll(start, lastRow, maze::successors)) {
+            assertEquals(all.stream().map(node -> node.state).toList(), stream.map(node -> node.state).toList());
+        }
+        try (Stream<GenericSearch.Node<Maze.Location>> stream = GenericSearch.streamAll(start, lastRow, maze::successors)) {
+            assertEquals(all.stream().limit(2).map(node -> node.state).toList(),
+                    stream.limit(2).map(node -> node.state).toList());
+        }
+
+        final Stream<GenericSearch.Node<Maze.Location>> stream = GenericSearch.streamAll(start, lastRow, maze::successors);
+        final Iterator<GenericSearch.Node<Maze.Location>> iterator = stream.iterator();
+        stream.close();
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
+    @Test
+    void statistics() {
+        final FixedMaze fixedMaze = new FixedMaze(List.of(
+                "#######",
+                "#S....#",
+                "#.###.#",
+                "#....G#",
+                "#######"
+        ));
+        final Maze.Location from = Maze.Location.of(1, 1);
+        final SearchStats stats = new SearchStats();
+
+        assertTrue(GenericSearch.bfs(from, fixedMaze::goalTest, fixedMaze::successors, stats).isPresent());
+        assertEquals(12, stats.explored());
+        assertEquals(stats.explored(), stats.generated());
+        assertEquals(11, stats.expanded());
+        assertTrue(stats.duplicates() > 0);
+        assertEquals(0, stats.heuristicEvaluations());
+        assertTrue(stats.peakFrontier() >= 1);
+        assertFalse(stats.elapsed().isNegative());
+
+        GenericSearch.findAll(from, fixedMaze::goalTest, fixedMaze::successors, stats);
+        assertEquals(12, stats.generated());
+
+        GenericSearch.dfs(from, fixedMaze::goalTest, fixedMaze::successors, stats);
+        assertTrue(stats.expanded() > 0);
+
+        assertTrue(GenericSearch.astar(from, fixedMaze::goalTest, fixedMaze::successors, fixedMaze::manhattanDistance, stats)
+                .isPresent());
+        assertEquals(stats.generated(), stats.heuristicEvaluations());
+        assertEquals(stats.explored(), stats.generated());
+        assertTrue(stats.expanded() > 0 && stats.expanded() <= stats.explored());
+        assertTrue(stats.toString().contains("expanded: " + stats.expanded()), stats::toString);
+
+        final SearchStats failing = new SearchStats();
+        assertThrows(IllegalStateException.class, () -> GenericSearch.findAll(from, fixedMaze::goalTest,
+                location -> { throw new IllegalStateException("no successors"); }, failing));
+        assertEquals(1, failing.explored());
+    }
+
+    @Test
+    void budgeted() {
+        final FixedMaze fixedMaze = new FixedMaze(List.of(
+                "###########",
+                "#S........#",
+                "#.#######.#",
+                "#........G#",
+                "###########"
+        ));
+        final Maze.Location from = Maze.Location.of(1, 1);
+
+        final GenericSearch.BudgetedResult<Maze.Location> limited = GenericSearch.budgetedAstar(from,
+                fixedMaze::goalTest, fixedMaze::successors, fixedMaze::manhattanDistance, GenericSearch.Budget.expansions(3));
+        assertFalse(limited.complete());
+        assertFalse(limited.goal());
+        assertTrue(fixedMaze.manhattanDistance(limited.node().state) < fixedMaze.manhattanDistance(from));
+
+        final GenericSearch.BudgetedResult<Maze.Location> astar = GenericSearch.budgetedAstar(from,
+                fixedMaze::goalTest, fixedMaze::successors, fixedMaze::manhattanDistance, GenericSearch.Budget.timeout(Duration.ofMinutes(1)));
+        assertTrue(astar.complete());
+        assertTrue(astar.goal());
+        assertEquals(10, astar.node().steps());
+
+        final GenericSearch.BudgetedResult<Maze.Location> bfs = GenericSearch.budgetedBfs(from,
+                fixedMaze::goalTest, fixedMaze::successors, fixedMaze::manhattanDistance, GenericSearch.Budget.expansions(1_000));
+        assertTrue(bfs.complete());
+        assertTrue(bfs.goal());
+        assertEquals(10, bfs.node().steps());
+
+        final GenericSearch.BudgetedResult<Maze.Location> expired = GenericSearch.budgetedBfs(from,
+                fixedMaze::goalTest, fixedMaze::successors, fixedMaze::manhattanDistance, GenericSearch.Budget.timeout(Duration.ZERO));
+        assertFalse(expired.complete());
+        assertEquals(from, expired.node().state);
+
+        final FixedMaze closed = new FixedMaze(List.of("S.#G"));
+        final GenericSearch.BudgetedResult<Maze.Location> unsolvable = GenericSearch.budgetedAstar(Maze.Location.of(0, 0),
+                closed::goalTest, closed::successors, closed::manhattanDistance, GenericSearch.Budget.expansions(1_000));
+        assertTrue(unsolvable.complete());
+        assertFalse(unsolvable.goal());
+        assertEquals(Maze.Location.of(0, 1), unsolvable.node().state);
+    }
+
+    @Test
+    void greedyBestFirst() {
+        final Optional<GenericSearch.Node<Maze.Location>> expected = GenericSearch.bfs(start, maze::goalTest, maze::successors);
+        final Optional<GenericSearch.Node<Maze.Location>> result =
+                GenericSearch.greedyBestFirst(start, maze::goalTest, maze::successors, maze::manhattanDistance);
+        assertEquals(expected.isPresent(), result.isPresent());
+        result.ifPresent(node -> {
+            assertEquals(goal, node.state);
+            assertEquals(node.steps(), node.cost);
+            assertTrue(node.steps() >= expected.get().steps());
+        });
+    }
+
+    @Test
+    void beamSearch() {
+        final FixedMaze fixedMaze = new FixedMaze(List.of(
+                "###########",
+                "#S........#",
+                "#.#######.#",
+                "#.#.....#.#",
+                "#.#.###.#.#",
+                "#.......#G#",
+                "###########"
+        ));
+        final Maze.Location from = Maze.Location.of(1, 1);
+
+        final Optional<GenericSearch.Node<Maze.Location>> wide =
+                GenericSearch.beamSearch(from, fixedMaze::goalTest, fixedMaze::successors, fixedMaze::manhattanDistance, 100);
+        assertTrue(wide.isPresent());
+        assertEquals(12, wide.get().steps());
+
+        final Optional<GenericSearch.Node<Maze.Location>> narrow =
+                GenericSearch.beamSearch(from, fixedMaze::goalTest, fixedMaze::successors, fixedMaze::manhattanDistance, 1);
+        narrow.ifPresent(node -> {
+            assertTrue(fixedMaze.goalTest(node.state));
+            assertTrue(node.steps() >= 12);
+        });
+
+        final FixedMaze closed = new FixedMaze(List.of("S.#G"));
+        assertTrue(GenericSearch.beamSearch(Maze.Location.of(0, 0), closed::goalTest, closed::successors,
+                closed::manhattanDistance, 2).isEmpty());
+    }
+}
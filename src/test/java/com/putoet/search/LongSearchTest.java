@@ -0,0 +1,104 @@
+package com.putoet.search;
+
+import com.putoet.maze.FixedMaze;
+import com.putoet.maze.Maze;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongSearchTest {
+    private FixedMaze maze;
+    private Maze.Location start;
+    private Maze.Location goal;
+    private LongSearch.Successors successors;
+    private LongSearch search;
+
+    @BeforeEach
+    void setup() {
+        maze = new FixedMaze(List.of(
+                "###########",
+                "#S........#",
+                "#.#######.#",
+                "#.#.....#.#",
+                "#.#.###.#.#",
+                "#.......#G#",
+                "###########"
+        ));
+        start = Maze.Location.of(1, 1);
+        goal = Maze.Location.of(5, 9);
+        successors = (state, sink) -> maze.successors(Maze.Location.decode(state))
+                .forEach(location -> sink.accept(location.encode()));
+        search = new LongSearch();
+    }
+
+    @Test
+    void dfs() {
+        final int node = search.dfs(start.encode(), state -> state == goal.encode(), successors);
+        assertNotEquals(LongSearch.NOT_FOUND, node);
+        assertEquals(goal.encode(), search.state(node));
+
+        final long[] path = search.path(node);
+        assertEquals(start.encode(), path[0]);
+        assertEquals(search.steps(node) + 1, path.length);
+    }
+
+    @Test
+    void bfs() {
+        final Optional<GenericSearch.Node<Maze.Location>> expected = GenericSearch.bfs(start, maze::goalTest, maze::successors);
+        final int node = search.bfs(start.encode(), state -> state == goal.encode(), successors);
+        assertTrue(expected.isPresent());
+        assertNotEquals(LongSearch.NOT_FOUND, node);
+        assertEquals(expected.get().steps(), search.steps(node));
+        assertEquals(expected.get().path(), Arrays.stream(search.path(node)).mapToObj(Maze.Location::decode).toList());
+    }
+
+    @Test
+    void astar() {
+        final Optional<GenericSearch.Node<Maze.Location>> expected =
+                GenericSearch.astar(start, maze::goalTest, maze::successors, maze::manhattanDistance);
+        final int node = search.astar(start.encode(), state -> state == goal.encode(), successors,
+                state -> maze.manhattanDistance(Maze.Location.decode(state)));
+        assertTrue(expected.isPresent());
+        assertNotEquals(LongSearch.NOT_FOUND, node);
+        assertEquals(expected.get().cost, search.cost(node));
+        assertEquals(expected.get().steps(), search.steps(node));
+    }
+
+    @Test
+    void reuse() {
+        final int first = search.bfs(start.encode(), state -> state == goal.encode(), successors);
+        final int steps = search.steps(first);
+
+        assertEquals(LongSearch.NOT_FOUND, search.bfs(start.encode(), state -> false, successors));
+        final int second = search.bfs(start.encode(), state -> state == goal.encode(), successors);
+        assertEquals(steps, search.steps(second));
+
+        assertThrows(IllegalArgumentException.class, () -> search.state(search.size()));
+    }
+
+    @Test
+    void growth() {
+        // an unbounded line of states, forcing the node arrays and the explored map to grow
+        final int node = search.bfs(0, state -> state == 100_000, (state, sink) -> {
+            sink.accept(state + 1);
+            if (state > 0)
+                sink.accept(state - 1);
+        });
+        assertEquals(100_000, search.steps(node));
+    }
+
+    @Test
+    void mazeIndexSuccessors() {
+        final Optional<GenericSearch.Node<Maze.Location>> expected = GenericSearch.bfs(start, maze::goalTest, maze::successors);
+        final int goalIndex = maze.index(goal);
+        final int node = search.bfs(maze.index(start), state -> state == goalIndex, maze.indexSuccessors());
+        assertNotEquals(LongSearch.NOT_FOUND, node);
+        assertEquals(expected.orElseThrow().path(),
+                Arrays.stream(search.path(node)).mapToObj(index -> maze.location((int) index)).toList());
+    }
+}